@@ -35,6 +35,21 @@ export class BlogCardComponent {
     return type.startsWith('image') || type.startsWith('video');
   }
 
+  thumbnailSrc(): string {
+    return this.thumbnail?.thumbnailUrl || this.thumbnail?.url || '';
+  }
+
+  thumbnailSrcset(): string | null {
+    const variants = this.thumbnail?.variants || [];
+    if (!variants.length) return null;
+    return variants.map((variant) => `${variant.url} ${variant.width}w`).join(', ');
+  }
+
+  thumbnailPlaceholder(): string | null {
+    const placeholder = this.thumbnail?.placeholder;
+    return placeholder ? `url("${placeholder}")` : null;
+  }
+
   onOpen(): void {
     this.open.emit();
   }
@@ -2,7 +2,7 @@ import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { Router, RouterLink, NavigationEnd } from '@angular/router';
 import { Location } from '@angular/common';
-import { filter, interval, Subscription } from 'rxjs';
+import { filter, Subscription } from 'rxjs';
 
 import { AuthService } from '../../core/auth.service';
 import { ApiService } from '../../core/api.service';
@@ -24,7 +24,8 @@ export class NavbarComponent implements OnInit, OnDestroy {
   notificationsLoading = false;
   notificationsError = '';
   private navSub?: Subscription;
-  private pollSub?: Subscription;
+  private stream?: EventSource;
+  private streamedIds = new Set<number>();
   private loadingUser = false;
 
   constructor(
@@ -39,13 +40,11 @@ export class NavbarComponent implements OnInit, OnDestroy {
     this.navSub = this.router.events.pipe(filter((event) => event instanceof NavigationEnd)).subscribe(() => {
       this.syncState();
     });
-    this.pollSub = interval(30000).subscribe(() => this.refreshUnreadCount());
-    this.refreshUnreadCount();
   }
 
   ngOnDestroy(): void {
     this.navSub?.unsubscribe();
-    this.pollSub?.unsubscribe();
+    this.closeStream();
   }
 
   private syncState(): void {
@@ -57,8 +56,10 @@ export class NavbarComponent implements OnInit, OnDestroy {
       this.notifications = [];
       this.unreadCount = 0;
       this.notificationsOpen = false;
+      this.closeStream();
       return;
     }
+    this.openStream();
     if (!this.user && !this.loadingUser) {
       this.loadingUser = true;
       this.api.getMe().subscribe({
@@ -72,7 +73,6 @@ export class NavbarComponent implements OnInit, OnDestroy {
         }
       });
     }
-    this.refreshUnreadCount();
   }
 
   goBack(): void {
@@ -84,6 +84,7 @@ export class NavbarComponent implements OnInit, OnDestroy {
   }
 
   logout(): void {
+    this.closeStream();
     this.auth.logout();
     this.router.navigateByUrl('/login');
   }
@@ -104,8 +105,8 @@ export class NavbarComponent implements OnInit, OnDestroy {
     this.notificationsLoading = true;
     this.notificationsError = '';
     this.api.getMyNotifications(20).subscribe({
-      next: (items) => {
-        this.notifications = items || [];
+      next: (page) => {
+        this.notifications = page?.items || [];
         this.notificationsLoading = false;
       },
       error: (err: any) => {
@@ -115,14 +116,6 @@ export class NavbarComponent implements OnInit, OnDestroy {
     });
   }
 
-  refreshUnreadCount(): void {
-    if (!this.user) return;
-    this.api.getUnreadNotificationsCount().subscribe({
-      next: (res) => (this.unreadCount = res?.count || 0),
-      error: () => {}
-    });
-  }
-
   openNotification(item: AppNotification, event: Event): void {
     event.stopPropagation();
     const navigateToTarget = () => {
@@ -197,6 +190,39 @@ export class NavbarComponent implements OnInit, OnDestroy {
     return `${years}y`;
   }
 
+  // The server pushes new notifications and the unread count, and replays what was missed
+  // (Last-Event-ID) whenever the browser reconnects, so the badge no longer needs polling.
+  private openStream(): void {
+    const token = this.auth.getToken();
+    if (this.stream || !token) return;
+    this.stream = this.api.openNotificationStream(token);
+    this.stream.addEventListener('unread', (event) => {
+      this.unreadCount = JSON.parse((event as MessageEvent).data)?.count || 0;
+    });
+    this.stream.addEventListener('notification', (event) => {
+      const item: AppNotification = JSON.parse((event as MessageEvent).data);
+      const known = this.streamedIds.has(item.id) || this.notifications.some((existing) => existing.id === item.id);
+      // Coalesced likes and comments arrive again under the same id as more people join in.
+      this.notifications = [item, ...this.notifications.filter((existing) => existing.id !== item.id)];
+      if (known) return;
+      this.streamedIds.add(item.id);
+      if (!item.read) {
+        this.adjustUnreadCount(1);
+      }
+    });
+    this.stream.addEventListener('reset', () => {
+      if (this.notificationsOpen) {
+        this.loadNotifications();
+      }
+    });
+  }
+
+  private closeStream(): void {
+    this.stream?.close();
+    this.stream = undefined;
+    this.streamedIds.clear();
+  }
+
   private adjustUnreadCount(delta: number): void {
     this.unreadCount = Math.max(0, this.unreadCount + delta);
   }
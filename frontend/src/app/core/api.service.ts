@@ -3,15 +3,17 @@ import { HttpClient } from '@angular/common/http';
 
 import {
   AuthResponse,
-  AppNotification,
   AdminReportItem,
   Blog,
   Comment,
   CreateReportRequest,
+  FeedPage,
   FollowCounts,
   Like,
   LikeStatus,
+  LikeStatusItem,
   Media,
+  NotificationPage,
   ReportResponse,
   UserResponse
 } from './models';
@@ -94,8 +96,9 @@ export class ApiService {
     return this.http.get<Blog[]>(`${this.baseUrl}/blogs/by-user/${userId}`);
   }
 
-  getFeedBlogs() {
-    return this.http.get<Blog[]>(`${this.baseUrl}/api/blogs/feed`);
+  getFeedBlogs(cursor?: string | null, limit = 20) {
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    return this.http.get<FeedPage>(`${this.baseUrl}/api/blogs/feed?limit=${limit}${cursorParam}`);
   }
 
   getMyBlogs() {
@@ -167,6 +170,10 @@ export class ApiService {
     return this.http.get<LikeStatus>(`${this.baseUrl}/likes/status?blogId=${blogId}&userId=${userId}`);
   }
 
+  getLikeStatuses(blogIds: number[]) {
+    return this.http.get<LikeStatusItem[]>(`${this.baseUrl}/likes/status/batch?blogIds=${blogIds.join(',')}`);
+  }
+
   getFollowingIds() {
     return this.http.get<number[]>(`${this.baseUrl}/api/follows/me/following`);
   }
@@ -202,14 +209,20 @@ export class ApiService {
     return this.http.post<ReportResponse>(`${this.baseUrl}/api/reports`, payload);
   }
 
-  getMyNotifications(limit = 20) {
-    return this.http.get<AppNotification[]>(`${this.baseUrl}/api/notifications/me?limit=${limit}`);
+  getMyNotifications(limit = 20, cursor?: string | null) {
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    return this.http.get<NotificationPage>(`${this.baseUrl}/api/notifications/me?limit=${limit}${cursorParam}`);
   }
 
   getUnreadNotificationsCount() {
     return this.http.get<{ count: number }>(`${this.baseUrl}/api/notifications/me/unread-count`);
   }
 
+  // EventSource cannot send the Authorization header, so the stream takes the token as a parameter.
+  openNotificationStream(token: string) {
+    return new EventSource(`${this.baseUrl}/api/notifications/me/stream?access_token=${encodeURIComponent(token)}`);
+  }
+
   markNotificationRead(notificationId: number) {
     return this.http.put<void>(`${this.baseUrl}/api/notifications/${notificationId}/read`, {});
   }
@@ -32,11 +32,33 @@ export interface Blog {
   mediaFiles?: Media[];
 }
 
+export interface FeedPage {
+  items: Blog[];
+  nextCursor?: string | null;
+}
+
+export interface MediaVariant {
+  width: number;
+  url: string;
+}
+
 export interface Media {
   id?: number;
   url: string;
   mediaType?: string;
   createdAt?: string;
+  width?: number;
+  height?: number;
+  thumbnailUrl?: string | null;
+  placeholder?: string | null;
+  variants?: MediaVariant[];
+}
+
+export interface CommentAuthor {
+  userId: number;
+  userName: string;
+  firstName: string;
+  lastName: string;
 }
 
 export interface Comment {
@@ -44,11 +66,14 @@ export interface Comment {
   content: string;
   createdAt?: string;
   updatedAt?: string | null;
-  user?: UserResponse;
+  blogId?: number;
+  user?: CommentAuthor;
 }
 
 export interface Like {
   id?: number;
+  blogId?: number;
+  userId?: number;
   createdAt?: string;
   updatedAt?: string | null;
 }
@@ -58,6 +83,10 @@ export interface LikeStatus {
   likeCount: number;
 }
 
+export interface LikeStatusItem extends LikeStatus {
+  blogId: number;
+}
+
 export interface FollowCounts {
   following: number;
   followers: number;
@@ -111,4 +140,10 @@ export interface AppNotification {
   actorUserId?: number | null;
   actorUserName?: string | null;
   blogId?: number | null;
+  actorCount: number;
+}
+
+export interface NotificationPage {
+  items: AppNotification[];
+  nextCursor?: string | null;
 }
@@ -24,6 +24,7 @@ export class HomeComponent implements OnInit, OnDestroy {
   private readonly allowedMediaExtensions = new Set(['jpg', 'jpeg', 'png', 'mp4']);
   user: UserResponse | null = null;
   blogs: Blog[] = [];
+  nextCursor: string | null = null;
 
   newBlog: Blog = { title: '', content: '', status: 'ACTIVE', media: '' };
   mediaPreviews: Array<{ file: File; url: string; kind: 'image' | 'video' }> = [];
@@ -34,6 +35,7 @@ export class HomeComponent implements OnInit, OnDestroy {
 
   error = '';
   loading = false;
+  loadingMore = false;
   createConfirmOpen = false;
   createSubmitting = false;
   private refreshSub?: Subscription;
@@ -68,8 +70,9 @@ export class HomeComponent implements OnInit, OnDestroy {
     if (!this.user) return;
     this.loading = true;
     this.api.getFeedBlogs().subscribe({
-      next: (blogs) => {
-        this.blogs = this.sortBlogsByIdDesc(blogs || []);
+      next: (page) => {
+        this.blogs = this.sortBlogsByIdDesc(page?.items || []);
+        this.nextCursor = page?.nextCursor || null;
         this.preloadFeedMeta();
         this.loading = false;
       },
@@ -80,6 +83,25 @@ export class HomeComponent implements OnInit, OnDestroy {
     });
   }
 
+  loadMore(): void {
+    if (!this.user || !this.nextCursor || this.loadingMore) return;
+    this.loadingMore = true;
+    this.api.getFeedBlogs(this.nextCursor).subscribe({
+      next: (page) => {
+        const known = new Set(this.blogs.map((blog) => blog.idBlog));
+        const fresh = (page?.items || []).filter((blog) => !known.has(blog.idBlog));
+        this.blogs = [...this.blogs, ...fresh];
+        this.nextCursor = page?.nextCursor || null;
+        this.preloadMetaForBlogs(fresh);
+        this.loadingMore = false;
+      },
+      error: (err: any) => {
+        this.error = err?.error?.message || err?.error || 'Failed to load blogs';
+        this.loadingMore = false;
+      }
+    });
+  }
+
   private sortBlogsByIdDesc(blogs: Blog[]): Blog[] {
     return [...blogs].sort((a, b) => (b.idBlog || 0) - (a.idBlog || 0));
   }
@@ -253,36 +275,53 @@ export class HomeComponent implements OnInit, OnDestroy {
 
   preloadFeedMeta(): void {
     if (!this.user) return;
-    this.blogs.forEach((blog) => this.preloadMetaForBlog(blog));
+    this.preloadMetaForBlogs(this.blogs);
   }
 
   private preloadMetaForBlog(blog: Blog): void {
-    if (!this.user || !blog.idBlog) return;
-    const blogId = blog.idBlog;
-    const mediaFromBlog = (blog.mediaFiles || []).map((item) => this.normalizeMedia(item));
-
-    if (mediaFromBlog.length > 0) {
-      this.thumbnailByBlog[blogId] = mediaFromBlog[0];
-    } else if (!Object.prototype.hasOwnProperty.call(this.thumbnailByBlog, blogId)) {
-      this.api.getFirstMediaByBlog(blogId).subscribe({
-        next: (media) => (this.thumbnailByBlog[blogId] = media ? this.normalizeMedia(media) : null),
-        error: () => (this.thumbnailByBlog[blogId] = null)
-      });
-    }
+    this.preloadMetaForBlogs([blog]);
+  }
 
-    if (!Object.prototype.hasOwnProperty.call(this.likedByBlog, blogId) ||
-        !Object.prototype.hasOwnProperty.call(this.likeCountByBlog, blogId)) {
-      this.api.getLikeStatus(blogId, this.user.userId).subscribe({
-        next: (status) => {
-          this.likedByBlog[blogId] = status.liked;
-          this.likeCountByBlog[blogId] = status.likeCount;
-        },
-        error: () => {
-          this.likedByBlog[blogId] = false;
-          this.likeCountByBlog[blogId] = blog.likeCount || 0;
-        }
-      });
-    }
+  private preloadMetaForBlogs(blogs: Blog[]): void {
+    if (!this.user) return;
+    const pendingLikeIds: number[] = [];
+
+    blogs.forEach((blog) => {
+      if (!blog.idBlog) return;
+      const blogId = blog.idBlog;
+      const mediaFromBlog = (blog.mediaFiles || []).map((item) => this.normalizeMedia(item));
+
+      if (mediaFromBlog.length > 0) {
+        this.thumbnailByBlog[blogId] = mediaFromBlog[0];
+      } else if (!Object.prototype.hasOwnProperty.call(this.thumbnailByBlog, blogId)) {
+        this.api.getFirstMediaByBlog(blogId).subscribe({
+          next: (media) => (this.thumbnailByBlog[blogId] = media ? this.normalizeMedia(media) : null),
+          error: () => (this.thumbnailByBlog[blogId] = null)
+        });
+      }
+
+      if (!Object.prototype.hasOwnProperty.call(this.likedByBlog, blogId) ||
+          !Object.prototype.hasOwnProperty.call(this.likeCountByBlog, blogId)) {
+        pendingLikeIds.push(blogId);
+      }
+    });
+
+    if (!pendingLikeIds.length) return;
+    this.api.getLikeStatuses(pendingLikeIds).subscribe({
+      next: (statuses) => {
+        (statuses || []).forEach((status) => {
+          this.likedByBlog[status.blogId] = status.liked;
+          this.likeCountByBlog[status.blogId] = status.likeCount;
+        });
+      },
+      error: () => {
+        blogs.forEach((blog) => {
+          if (!blog.idBlog || !pendingLikeIds.includes(blog.idBlog)) return;
+          this.likedByBlog[blog.idBlog] = false;
+          this.likeCountByBlog[blog.idBlog] = blog.likeCount || 0;
+        });
+      }
+    });
   }
 
   toggleLike(blog: Blog, event: Event): void {
@@ -0,0 +1,105 @@
+package com.example._blog.Security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example._blog.Entity.User;
+import com.example._blog.Entity.enums.UserRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+    private static final int COLD_TOKENS = 4096;
+
+    private User user;
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private JwtAuthFilter filter;
+    private String token;
+    private String[] coldTokens;
+    private int coldIndex;
+
+    @Setup
+    public void setUp() {
+        user = User.builder()
+                .userId(1L)
+                .userName("bench")
+                .firstName("Bench")
+                .lastName("User")
+                .email("bench@bench.local")
+                .password("x")
+                .role(UserRole.USER)
+                .build();
+        jwtService = new JwtService(SECRET, 3_600_000L, 10_000);
+        uncachedJwtService = new JwtService(SECRET, 3_600_000L, 1);
+        token = jwtService.generateToken(user);
+        coldTokens = new String[COLD_TOKENS];
+        for (int i = 0; i < COLD_TOKENS; i++) {
+            user.setUserName("bench" + i);
+            coldTokens[i] = uncachedJwtService.generateToken(user);
+        }
+        user.setUserName("bench");
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return new UserPrincipal(user);
+            }
+        };
+        PrincipalCache principalCache = new PrincipalCache(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(1));
+        filter = new JwtAuthFilter(jwtService, userDetailsService, principalCache);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyUncached() {
+        coldIndex = (coldIndex + 1) % COLD_TOKENS;
+        return uncachedJwtService.verify(coldTokens[coldIndex]);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterPath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/blogs/feed");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
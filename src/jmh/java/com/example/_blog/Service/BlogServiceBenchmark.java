@@ -0,0 +1,64 @@
+package com.example._blog.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example._blog.Dto.response.BlogResponse;
+import com.example._blog.Dto.response.FeedPageResponse;
+import com.example._blog.bench.BenchmarkContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlogServiceBenchmark {
+    private BenchmarkContext context;
+    private BlogService blogService;
+    private Long viewerId;
+    private Long celebrityId;
+    private Long blogId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(2000, 50, 10);
+        blogService = context.bean(BlogService.class);
+        List<Long> userIds = context.userIds();
+        viewerId = userIds.get(userIds.size() / 2);
+        celebrityId = context.celebrityId();
+        blogId = context.blogIds().get(context.blogIds().size() / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public FeedPageResponse feedFirstPage() {
+        return blogService.getFeedResponses(viewerId, null, 20);
+    }
+
+    @Benchmark
+    public List<BlogResponse> postsByAuthor() {
+        return blogService.getByUser(celebrityId);
+    }
+
+    @Benchmark
+    public BlogResponse singlePost() {
+        return blogService.getByIdResponse(blogId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example._blog.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaServiceBenchmark {
+    @Param({"jpg", "png", "mp4"})
+    public String kind;
+
+    private MediaService mediaService;
+    private MockMultipartFile file;
+    private byte[] content;
+    private Path scratchDir;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws IOException {
+        scratchDir = Files.createTempDirectory("media-bench");
+        mediaService = new MediaService(null, null, null, null, null, null);
+        byte[] header = switch (kind) {
+            case "jpg" -> new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+            case "png" -> new byte[] {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+            default -> new byte[] {0x00, 0x00, 0x00, 0x18, 0x66, 0x74, 0x79, 0x70, 0x69, 0x73, 0x6F, 0x6D};
+        };
+        content = new byte[2 * 1024 * 1024];
+        System.arraycopy(header, 0, content, 0, header.length);
+        String contentType = switch (kind) {
+            case "jpg" -> "image/jpeg";
+            case "png" -> "image/png";
+            default -> "video/mp4";
+        };
+        file = new MockMultipartFile("files", "upload." + kind, contentType, content);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(scratchDir)) {
+            for (Path path : files.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(scratchDir);
+    }
+
+    @Benchmark
+    public String detectMimeType() {
+        return mediaService.detectMimeType(content, content.length);
+    }
+
+    @Benchmark
+    public MockMultipartFile validateFileType() {
+        mediaService.validateFileType(file);
+        return file;
+    }
+
+    @Benchmark
+    public MediaService.IngestedFile ingest() throws IOException {
+        Path target = scratchDir.resolve("upload-" + sequence++ + "." + kind);
+        MediaService.IngestedFile ingested = mediaService.ingest(file, target, Long.MAX_VALUE);
+        Files.delete(target);
+        return ingested;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example._blog.Service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example._blog.bench.BenchmarkContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NotificationFanoutBenchmark {
+    private BenchmarkContext context;
+    private NotificationFanoutService fanoutService;
+    private JdbcTemplate jdbcTemplate;
+    private Long celebrityId;
+    private Long blogId;
+    private long followers;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(20000, 20, 1);
+        fanoutService = context.bean(NotificationFanoutService.class);
+        jdbcTemplate = context.bean(JdbcTemplate.class);
+        celebrityId = context.celebrityId();
+        blogId = context.blogIds().get(0);
+        followers = jdbcTemplate.queryForObject("select count(*) from follows where following_id = ?", Long.class,
+                celebrityId);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearNotifications() {
+        jdbcTemplate.update("delete from notifications");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Goes through the public entry point and waits until every follower's row has landed, so the
+    // measurement covers the background fan-out rather than the enqueue.
+    @Benchmark
+    public void fanOutCelebrityPost() throws InterruptedException {
+        fanoutService.submitNewPost(blogId, celebrityId, "user0");
+        while (jdbcTemplate.queryForObject("select count(*) from notifications where blog_id = ?", Long.class,
+                blogId) < followers) {
+            Thread.sleep(1);
+        }
+    }
+}
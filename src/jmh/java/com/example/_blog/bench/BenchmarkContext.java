@@ -0,0 +1,118 @@
+package com.example._blog.bench;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example._blog.Application;
+
+/**
+ * Boots the application against an in-memory H2 database and seeds a skewed
+ * follower graph: user 0 is followed by everyone, and the remaining follows
+ * lean towards low user ids so a handful of accounts end up popular.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+    private final List<Long> userIds;
+    private final List<Long> blogIds;
+
+    private BenchmarkContext(ConfigurableApplicationContext context, List<Long> userIds, List<Long> blogIds) {
+        this.context = context;
+        this.userIds = userIds;
+        this.blogIds = blogIds;
+    }
+
+    public static BenchmarkContext start(int users, int followsPerUser, int postsPerUser) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.devtools.restart.enabled=false",
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .run();
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(42);
+        Timestamp now = Timestamp.from(Instant.now());
+
+        List<Object[]> userRows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[] {"First" + i, "Last" + i, "user" + i, "user" + i + "@bench.local", "x", now});
+        }
+        jdbc.batchUpdate("insert into users (first_name, last_name, user_name, email, password, status, role, created_at) "
+                + "values (?, ?, ?, ?, ?, 'ACTIVE', 'USER', ?)", userRows);
+        List<Long> userIds = jdbc.queryForList("select user_id from users order by user_id", Long.class);
+
+        List<Object[]> followRows = new ArrayList<>();
+        Long celebrity = userIds.get(0);
+        for (Long follower : userIds) {
+            Set<Long> following = new HashSet<>();
+            if (!follower.equals(celebrity)) {
+                following.add(celebrity);
+            }
+            while (following.size() < Math.min(followsPerUser, users - 1)) {
+                Long target = userIds.get(random.nextInt(random.nextInt(users) + 1));
+                if (!target.equals(follower)) {
+                    following.add(target);
+                }
+            }
+            for (Long target : following) {
+                followRows.add(new Object[] {follower, target, now});
+            }
+        }
+        jdbc.batchUpdate("insert into follows (follower_id, following_id, created_at) values (?, ?, ?)", followRows);
+
+        List<Object[]> blogRows = new ArrayList<>();
+        String content = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(8);
+        for (Long author : userIds) {
+            for (int p = 0; p < postsPerUser; p++) {
+                blogRows.add(new Object[] {"Post " + p + " by " + author, content, author, now});
+            }
+        }
+        jdbc.batchUpdate("insert into blogs (title, content, status, user_id, comment_count, like_count, created_at) "
+                + "values (?, ?, 'ACTIVE', ?, 0, 0, ?)", blogRows);
+        List<Long> blogIds = jdbc.queryForList("select id_blog from blogs order by id_blog", Long.class);
+
+        List<Object[]> mediaRows = new ArrayList<>();
+        for (int i = 0; i < blogIds.size(); i += 3) {
+            mediaRows.add(new Object[] {(long) i + 1, blogIds.get(i), "http://localhost:8080/uploads/" + i + ".jpg",
+                    "image/jpeg", now});
+        }
+        jdbc.batchUpdate("insert into media (id, blog_id, url, media_type, created_at) values (?, ?, ?, ?, ?)", mediaRows);
+
+        return new BenchmarkContext(context, userIds, blogIds);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<Long> userIds() {
+        return userIds;
+    }
+
+    public List<Long> blogIds() {
+        return blogIds;
+    }
+
+    public Long celebrityId() {
+        return userIds.get(0);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import com.example._blog.Security.JwtAuthFilter;
 import com.example._blog.Security.SecurityExceptionHandler;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 public class SecurityConfig {
     @Bean
@@ -27,6 +29,8 @@ public class SecurityConfig {
                 .accessDeniedHandler(securityExceptionHandler)
             )
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches only finish a request that was already authorized (notification streams).
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers(
                     "/users/register",
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example._blog.Dto.response.CommentResponse;
 import com.example._blog.Entity.Comment;
 import com.example._blog.Service.CommentService;
 
@@ -25,7 +26,7 @@ public class CommentCont {
     }
 
     @PostMapping
-    public ResponseEntity<Comment> add(@RequestParam Long blogId,
+    public ResponseEntity<CommentResponse> add(@RequestParam Long blogId,
                                        @RequestParam Long userId,
                                        @RequestBody Comment comment) {
         return ResponseEntity.ok(service.add(blogId, userId, comment));
@@ -38,12 +39,12 @@ public class CommentCont {
     }
 
     @GetMapping("/{commentId}")
-    public ResponseEntity<Comment> getById(@PathVariable Long commentId) {
-        return ResponseEntity.ok(service.getById(commentId));
+    public ResponseEntity<CommentResponse> getById(@PathVariable Long commentId) {
+        return ResponseEntity.ok(service.getResponseById(commentId));
     }
 
     @GetMapping("/by-blog/{blogId}")
-    public ResponseEntity<List<Comment>> getByBlog(@PathVariable Long blogId) {
+    public ResponseEntity<List<CommentResponse>> getByBlog(@PathVariable Long blogId) {
         return ResponseEntity.ok(service.getByBlog(blogId));
     }
 }
@@ -6,9 +6,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example._blog.Dto.response.BlogResponse;
+import com.example._blog.Dto.response.FeedPageResponse;
 import com.example._blog.Security.UserPrincipal;
 import com.example._blog.Service.BlogService;
 
@@ -22,9 +24,11 @@ public class FeedCont {
     }
 
     @GetMapping("/feed")
-    public ResponseEntity<List<BlogResponse>> getFeed(@AuthenticationPrincipal UserPrincipal principal) {
+    public ResponseEntity<FeedPageResponse> getFeed(@AuthenticationPrincipal UserPrincipal principal,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int limit) {
         Long currentUserId = principal.getUser().getUserId();
-        return ResponseEntity.ok(blogService.getFeedResponses(currentUserId));
+        return ResponseEntity.ok(blogService.getFeedResponses(currentUserId, cursor, limit));
     }
 
     @GetMapping("/me")
@@ -1,6 +1,9 @@
 package com.example._blog.Controller;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -8,9 +11,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.example._blog.Entity.Like;
+import com.example._blog.Dto.response.LikeResponse;
+import com.example._blog.Security.UserPrincipal;
 import com.example._blog.Service.LikeService;
 import com.example._blog.Service.LikeService.LikeStatus;
+import com.example._blog.Service.LikeService.LikeStatusItem;
 
 @RestController
 @RequestMapping("/likes")
@@ -22,7 +27,7 @@ public class LikeCont {
     }
 
     @PostMapping
-    public ResponseEntity<Like> like(@RequestParam Long blogId, @RequestParam Long userId) {
+    public ResponseEntity<LikeResponse> like(@RequestParam Long blogId, @RequestParam Long userId) {
         return ResponseEntity.ok(service.like(blogId, userId));
     }
 
@@ -36,4 +41,11 @@ public class LikeCont {
     public ResponseEntity<LikeStatus> getStatus(@RequestParam Long blogId, @RequestParam Long userId) {
         return ResponseEntity.ok(service.getStatus(blogId, userId));
     }
+
+    @GetMapping("/status/batch")
+    public ResponseEntity<List<LikeStatusItem>> getStatuses(@AuthenticationPrincipal UserPrincipal principal,
+                                                            @RequestParam List<Long> blogIds) {
+        Long currentUserId = principal.getUser().getUserId();
+        return ResponseEntity.ok(service.getStatuses(blogIds, currentUserId));
+    }
 }
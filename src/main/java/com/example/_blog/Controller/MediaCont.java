@@ -1,27 +1,44 @@
 package com.example._blog.Controller;
 
+import java.io.IOException;
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example._blog.Dto.request.ResumableUploadRequest;
 import com.example._blog.Dto.response.MediaResponse;
+import com.example._blog.Dto.response.ResumableUploadResponse;
+import com.example._blog.Security.UserPrincipal;
 import com.example._blog.Service.MediaService;
+import com.example._blog.Service.ResumableUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/media")
 public class MediaCont {
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
     private final MediaService service;
+    private final ResumableUploadService resumableUploadService;
 
-    public MediaCont(MediaService service) {
+    public MediaCont(MediaService service, ResumableUploadService resumableUploadService) {
         this.service = service;
+        this.resumableUploadService = resumableUploadService;
     }
 
     @PostMapping("/upload/{blogId}")
@@ -30,6 +47,46 @@ public class MediaCont {
         return ResponseEntity.ok(service.upload(blogId, files));
     }
 
+    @PostMapping("/uploads")
+    public ResponseEntity<ResumableUploadResponse> startUpload(@AuthenticationPrincipal UserPrincipal principal,
+                                                               @RequestBody @Valid ResumableUploadRequest request) {
+        return ResponseEntity.ok(resumableUploadService.start(principal.getUser().getUserId(), request));
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ResumableUploadResponse> uploadStatus(@AuthenticationPrincipal UserPrincipal principal,
+                                                                @PathVariable String uploadId) {
+        ResumableUploadResponse status = resumableUploadService.status(principal.getUser().getUserId(), uploadId);
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(status.offset()))
+                .body(status);
+    }
+
+    @PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ResumableUploadResponse> uploadChunk(@AuthenticationPrincipal UserPrincipal principal,
+                                                               @PathVariable String uploadId,
+                                                               @RequestHeader(UPLOAD_OFFSET) long offset,
+                                                               HttpServletRequest request) throws IOException {
+        ResumableUploadResponse status = resumableUploadService.append(principal.getUser().getUserId(), uploadId,
+                offset, request.getInputStream());
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(status.offset()))
+                .body(status);
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<MediaResponse> completeUpload(@AuthenticationPrincipal UserPrincipal principal,
+                                                        @PathVariable String uploadId) {
+        return ResponseEntity.ok(resumableUploadService.complete(principal.getUser().getUserId(), uploadId));
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@AuthenticationPrincipal UserPrincipal principal,
+                                            @PathVariable String uploadId) {
+        resumableUploadService.abort(principal.getUser().getUserId(), uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/by-blog/{blogId}")
     public ResponseEntity<List<MediaResponse>> getByBlog(@PathVariable Long blogId) {
         return ResponseEntity.ok(service.getByBlog(blogId));
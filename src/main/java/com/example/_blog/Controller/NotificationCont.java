@@ -1,40 +1,41 @@
 package com.example._blog.Controller;
 
-import java.time.Instant;
-import java.util.List;
-
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.example._blog.Entity.Notification;
-import com.example._blog.Entity.enums.NotificationType;
+import com.example._blog.Dto.response.NotificationPageResponse;
+import com.example._blog.Dto.response.UnreadCountResponse;
 import com.example._blog.Security.UserPrincipal;
 import com.example._blog.Service.NotificationService;
+import com.example._blog.Service.NotificationStreamService;
 
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationCont {
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
 
-    public NotificationCont(NotificationService notificationService) {
+    public NotificationCont(NotificationService notificationService,
+                            NotificationStreamService notificationStreamService) {
         this.notificationService = notificationService;
+        this.notificationStreamService = notificationStreamService;
     }
 
     @GetMapping("/me")
-    public ResponseEntity<List<NotificationItem>> getMyNotifications(@AuthenticationPrincipal UserPrincipal principal,
-                                                                     @RequestParam(defaultValue = "20") int limit) {
+    public ResponseEntity<NotificationPageResponse> getMyNotifications(@AuthenticationPrincipal UserPrincipal principal,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "20") int limit) {
         Long currentUserId = principal.getUser().getUserId();
-        List<NotificationItem> items = notificationService.getMyNotifications(currentUserId, limit)
-                .stream()
-                .map(this::toItem)
-                .toList();
-        return ResponseEntity.ok(items);
+        return ResponseEntity.ok(notificationService.getMyNotifications(currentUserId, cursor, limit));
     }
 
     @GetMapping("/me/unread-count")
@@ -43,6 +44,14 @@ public class NotificationCont {
         return ResponseEntity.ok(new UnreadCountResponse(notificationService.getUnreadCount(currentUserId)));
     }
 
+    // Browsers resend the id of the last event they saw when the connection drops.
+    @GetMapping(value = "/me/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal UserPrincipal principal,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long currentUserId = principal.getUser().getUserId();
+        return notificationStreamService.open(currentUserId, lastEventId);
+    }
+
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<Void> markRead(@AuthenticationPrincipal UserPrincipal principal,
                                          @PathVariable Long notificationId) {
@@ -65,33 +74,4 @@ public class NotificationCont {
         notificationService.markAllRead(currentUserId);
         return ResponseEntity.noContent().build();
     }
-
-    private NotificationItem toItem(Notification notification) {
-        Long actorUserId = notification.getActor() == null ? null : notification.getActor().getUserId();
-        String actorName = notification.getActor() == null ? null : notification.getActor().getUserName();
-        Long blogId = notification.getBlog() == null ? null : notification.getBlog().getIdBlog();
-        return new NotificationItem(
-                notification.getId(),
-                notification.getType(),
-                notification.getMessage(),
-                notification.isRead(),
-                notification.getCreatedAt(),
-                actorUserId,
-                actorName,
-                blogId
-        );
-    }
-
-    public record NotificationItem(
-            Long id,
-            NotificationType type,
-            String message,
-            boolean read,
-            Instant createdAt,
-            Long actorUserId,
-            String actorUserName,
-            Long blogId
-    ) {}
-
-    public record UnreadCountResponse(long count) {}
 }
@@ -0,0 +1,13 @@
+package com.example._blog.Dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record ResumableUploadRequest(
+        @NotNull Long blogId,
+        @NotBlank String filename,
+        String contentType,
+        @NotNull @Positive Long size
+) {
+}
@@ -21,4 +21,21 @@ public record BlogResponse(
         Instant updatedAt,
         List<MediaResponse> mediaFiles
 ) {
+    // Target of the JPQL constructor projections; media files are attached afterwards in one IN query.
+    public BlogResponse(Long idBlog, String title, String content, BlogStatus status, Long userId, String userName,
+                        String userFirstName, String userLastName, String media, Long commentCount, Long likeCount,
+                        Instant createdAt, Instant updatedAt) {
+        this(idBlog, title, content, status, userId, userName, userFirstName, userLastName, media, commentCount,
+                likeCount, createdAt, updatedAt, List.of());
+    }
+
+    public BlogResponse withMediaFiles(List<MediaResponse> mediaFiles) {
+        return new BlogResponse(idBlog, title, content, status, userId, userName, userFirstName, userLastName,
+                media, commentCount, likeCount, createdAt, updatedAt, mediaFiles);
+    }
+
+    public BlogResponse withCounters(Long commentCount, Long likeCount) {
+        return new BlogResponse(idBlog, title, content, status, userId, userName, userFirstName, userLastName,
+                media, commentCount, likeCount, createdAt, updatedAt, mediaFiles);
+    }
 }
@@ -0,0 +1,14 @@
+package com.example._blog.Dto.response;
+
+import java.time.Instant;
+
+public record CommentResponse(
+        Long id,
+        String content,
+        Instant createdAt,
+        Instant updatedAt,
+        Long blogId,
+        Author user
+) {
+    public record Author(Long userId, String userName, String firstName, String lastName) {}
+}
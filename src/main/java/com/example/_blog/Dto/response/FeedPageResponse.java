@@ -0,0 +1,9 @@
+package com.example._blog.Dto.response;
+
+import java.util.List;
+
+public record FeedPageResponse(
+        List<BlogResponse> items,
+        String nextCursor
+) {
+}
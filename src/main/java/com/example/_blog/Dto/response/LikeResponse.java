@@ -0,0 +1,12 @@
+package com.example._blog.Dto.response;
+
+import java.time.Instant;
+
+public record LikeResponse(
+        Long id,
+        Long blogId,
+        Long userId,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
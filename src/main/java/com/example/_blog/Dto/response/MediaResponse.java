@@ -1,12 +1,20 @@
 package com.example._blog.Dto.response;
 
 import java.time.Instant;
+import java.util.List;
 
 public record MediaResponse(
         Long id,
         Long blogId,
         String url,
         String mediaType,
-        Instant createdAt
+        Instant createdAt,
+        Integer width,
+        Integer height,
+        String thumbnailUrl,
+        String placeholder,
+        List<Variant> variants
 ) {
+    public record Variant(int width, String url) {
+    }
 }
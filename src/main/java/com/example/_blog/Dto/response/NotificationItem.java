@@ -0,0 +1,18 @@
+package com.example._blog.Dto.response;
+
+import java.time.Instant;
+
+import com.example._blog.Entity.enums.NotificationType;
+
+public record NotificationItem(
+        Long id,
+        NotificationType type,
+        String message,
+        boolean read,
+        Instant createdAt,
+        Long actorUserId,
+        String actorUserName,
+        Long blogId,
+        int actorCount
+) {
+}
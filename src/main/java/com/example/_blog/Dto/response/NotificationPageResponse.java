@@ -0,0 +1,9 @@
+package com.example._blog.Dto.response;
+
+import java.util.List;
+
+public record NotificationPageResponse(
+        List<NotificationItem> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,10 @@
+package com.example._blog.Dto.response;
+
+public record ResumableUploadResponse(
+        String uploadId,
+        Long blogId,
+        long offset,
+        long size,
+        long maxChunkBytes
+) {
+}
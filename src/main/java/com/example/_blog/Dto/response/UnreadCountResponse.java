@@ -0,0 +1,4 @@
+package com.example._blog.Dto.response;
+
+public record UnreadCountResponse(long count) {
+}
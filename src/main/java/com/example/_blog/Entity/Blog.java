@@ -8,9 +8,11 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -21,7 +23,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs", indexes = {
+        @Index(name = "idx_blogs_user_status_id", columnList = "user_id, status, id_blog desc"),
+        @Index(name = "idx_blogs_status_created", columnList = "status, created_at desc"),
+        @Index(name = "idx_blogs_media", columnList = "media")
+})
 @Getter
 @Setter
 @Builder
@@ -38,7 +44,7 @@ public class Blog {
     @Builder.Default
     @Enumerated(EnumType.STRING)
     private BlogStatus status = BlogStatus.ACTIVE;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "userId", nullable = false)
     private User user;
     @Column(name = "media")
@@ -2,12 +2,16 @@ package com.example._blog.Entity;
 
 import java.time.Instant;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,24 +20,42 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "media")
+@Table(name = "media", indexes = {
+        @Index(name = "idx_media_blog", columnList = "blog_id, id"),
+        @Index(name = "idx_media_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_media_url", columnList = "url")
+})
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Media {
+    // A pooled sequence lets Hibernate batch the inserts for a post's media; IDENTITY forces one round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "media_seq")
+    @SequenceGenerator(name = "media_seq", sequenceName = "media_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "blogId", nullable = false)
     private Blog blog;
 
     private String url;
     private String mediaType;
 
+    @Column(length = 64)
+    private String contentHash;
+
+    private Integer width;
+    private Integer height;
+
+    @Column(length = 64)
+    private String variantWidths;
+
+    @Column(length = 4096)
+    private String placeholder;
+
     @Builder.Default
     private Instant createdAt = Instant.now();
 }
@@ -0,0 +1,28 @@
+package com.example._blog.Entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Written and locked by MediaJanitor through plain SQL; mapped so the schema is known to Hibernate.
+@Entity
+@Table(name = "media_pins")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaPin {
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private Instant pinnedUntil;
+}
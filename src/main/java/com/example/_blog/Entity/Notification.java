@@ -4,13 +4,17 @@ import java.time.Instant;
 
 import com.example._blog.Entity.enums.NotificationType;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -21,7 +25,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_recipient_read_created", columnList = "recipient_user_id, is_read, created_at desc"),
+        @Index(name = "idx_notifications_recipient_created_id", columnList = "recipient_user_id, created_at desc, id desc"),
+        @Index(name = "idx_notifications_blog", columnList = "blog_id"),
+        @Index(name = "idx_notifications_actor", columnList = "actor_user_id")
+})
 @Getter
 @Setter
 @Builder
@@ -32,15 +41,15 @@ public class Notification {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recipient_user_id", nullable = false)
     private User recipient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "actor_user_id", nullable = false)
     private User actor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "blog_id")
     private Blog blog;
 
@@ -51,6 +60,15 @@ public class Notification {
     @Column(nullable = false, length = 300)
     private String message;
 
+    // Coalesced LIKE/COMMENT rows stand for several actors; actor is the latest of them.
+    @Builder.Default
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private int actorCount = 1;
+
+    @Column(length = 100)
+    private String recentActorIds;
+
     @Builder.Default
     @Column(nullable = false)
     private boolean isRead = false;
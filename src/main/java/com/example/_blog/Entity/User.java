@@ -5,6 +5,8 @@ import java.time.Instant;
 import com.example._blog.Entity.enums.UserRole;
 import com.example._blog.Entity.enums.UserStatus;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -51,4 +53,12 @@ public class User {
     private UserRole role = UserRole.USER;
     @Builder.Default
     private Instant createdAt=Instant.now();
+    // Maintained only through UserRepo's bulk updates so an entity save never overwrites a concurrent change.
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long unreadNotifications;
+    // Set once an author's post skips timeline fan-out; feeds pull this author's posts from then on.
+    @ColumnDefault("false")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private boolean timelinePull;
 }
@@ -1,17 +1,29 @@
 package com.example._blog.Repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example._blog.Dto.response.BlogResponse;
 import com.example._blog.Entity.Blog;
 import com.example._blog.Entity.enums.BlogStatus;
 
 @Repository
 public interface BlogRepo extends JpaRepository<Blog, Long> {
+    // Read endpoints select straight into BlogResponse: only the author columns they need are joined
+    // and no entity is loaded into the persistence context.
+    String BLOG_RESPONSE = "select new com.example._blog.Dto.response.BlogResponse(b.idBlog, b.title, b.content, "
+            + "b.status, u.userId, u.userName, u.firstName, u.lastName, b.media, b.commentCount, b.likeCount, "
+            + "b.createdAt, b.updatedAt) from Blog b left join b.user u ";
+
     List<Blog> findByUserUserId(Long userId);
     List<Blog> findByStatus(BlogStatus status);
     List<Blog> findByUserUserIdAndStatus(Long userId, BlogStatus status);
@@ -19,7 +31,65 @@ public interface BlogRepo extends JpaRepository<Blog, Long> {
     long countByUserUserId(Long userId);
     long countByUserUserIdAndStatus(Long userId, BlogStatus status);
 
+    @EntityGraph(attributePaths = "user")
+    Optional<Blog> findWithUserByIdBlog(Long blogId);
+
+    @Query(BLOG_RESPONSE + "where b.idBlog = :blogId")
+    Optional<BlogResponse> findResponseById(@Param("blogId") Long blogId);
+
+    @Query(BLOG_RESPONSE + "where u.userId = :userId and b.status = :status order by b.idBlog desc")
+    List<BlogResponse> findResponsesByUser(@Param("userId") Long userId, @Param("status") BlogStatus status);
+
+    @Query(BLOG_RESPONSE + "where b.status = :status")
+    List<BlogResponse> findResponsesByStatus(@Param("status") BlogStatus status);
+
+    @Query(BLOG_RESPONSE + "order by b.createdAt desc")
+    List<BlogResponse> findAllResponses();
+
+    @Query(BLOG_RESPONSE + "where u.userId in :authorIds and b.status = :status order by b.idBlog desc")
+    List<BlogResponse> findFeedResponses(@Param("authorIds") List<Long> authorIds,
+                                         @Param("status") BlogStatus status,
+                                         Pageable pageable);
+
+    @Query(BLOG_RESPONSE + "where u.userId in :authorIds and b.status = :status and b.idBlog < :beforeId "
+            + "order by b.idBlog desc")
+    List<BlogResponse> findFeedResponsesBefore(@Param("authorIds") List<Long> authorIds,
+                                               @Param("status") BlogStatus status,
+                                               @Param("beforeId") Long beforeId,
+                                               Pageable pageable);
+
     @Query("select b from Blog b where b.user.userId in :authorIds and b.status = :status order by b.idBlog desc")
     List<Blog> findFeedBlogs(@Param("authorIds") List<Long> authorIds,
-                             @Param("status") BlogStatus status);
+                             @Param("status") BlogStatus status,
+                             Pageable pageable);
+
+    @Query("select b.user.userId from Blog b where b.idBlog = :blogId")
+    Optional<Long> findAuthorIdById(@Param("blogId") Long blogId);
+
+    @Query("select b.commentCount as commentCount, b.likeCount as likeCount from Blog b where b.idBlog = :blogId")
+    Optional<BlogCounters> findCountersById(@Param("blogId") Long blogId);
+
+    @Query("select distinct b.media from Blog b where b.media in :urls")
+    List<String> findReferencedMedia(@Param("urls") Collection<String> urls);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Blog b set b.likeCount = b.likeCount + 1 where b.idBlog = :blogId")
+    int incrementLikeCount(@Param("blogId") Long blogId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Blog b set b.likeCount = b.likeCount - 1 where b.idBlog = :blogId and b.likeCount > 0")
+    int decrementLikeCount(@Param("blogId") Long blogId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Blog b set b.commentCount = b.commentCount + 1 where b.idBlog = :blogId")
+    int incrementCommentCount(@Param("blogId") Long blogId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Blog b set b.commentCount = b.commentCount - 1 where b.idBlog = :blogId and b.commentCount > 0")
+    int decrementCommentCount(@Param("blogId") Long blogId);
+
+    interface BlogCounters {
+        Long getCommentCount();
+        Long getLikeCount();
+    }
 }
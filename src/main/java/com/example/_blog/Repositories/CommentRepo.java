@@ -1,8 +1,13 @@
 package com.example._blog.Repositories;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example._blog.Entity.Comment;
@@ -10,8 +15,16 @@ import com.example._blog.Entity.Comment;
 @Repository
 public interface CommentRepo extends JpaRepository<Comment, Long> {
     List<Comment> findByBlogIdBlog(Long blogId);
+    @EntityGraph(attributePaths = "user")
+    Optional<Comment> findWithUserById(Long id);
+    @EntityGraph(attributePaths = "user")
+    List<Comment> findWithUserByBlogIdBlog(Long blogId);
     List<Comment> findByUserUserId(Long userId);
     long countByBlogIdBlog(Long blogId);
     void deleteByBlogIdBlog(Long blogId);
     void deleteByUserUserId(Long userId);
+
+    @Modifying
+    @Query("delete from Comment c where c.id = :commentId")
+    int removeById(@Param("commentId") Long commentId);
 }
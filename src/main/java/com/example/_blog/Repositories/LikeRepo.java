@@ -1,8 +1,12 @@
 package com.example._blog.Repositories;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example._blog.Entity.Like;
@@ -16,4 +20,12 @@ public interface LikeRepo extends JpaRepository<Like, Long> {
     long countByBlogIdBlog(Long blogId);
     void deleteByBlogIdBlog(Long blogId);
     void deleteByUserUserId(Long userId);
+
+    @Query("select b.idBlog, b.likeCount, l.id from Blog b "
+            + "left join Like l on l.blog = b and l.user.userId = :userId where b.idBlog in :blogIds")
+    List<Object[]> findViewerStates(@Param("blogIds") Collection<Long> blogIds, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from Like l where l.blog.idBlog = :blogId and l.user.userId = :userId")
+    int removeByBlogAndUser(@Param("blogId") Long blogId, @Param("userId") Long userId);
 }
@@ -1,9 +1,15 @@
 package com.example._blog.Repositories;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example._blog.Entity.Media;
 
@@ -11,4 +17,50 @@ import com.example._blog.Entity.Media;
 public interface MediaRepo extends JpaRepository<Media, Long> {
     List<Media> findByBlogIdBlog(Long blogId);
     Media findFirstByBlogIdBlogOrderByIdAsc(Long blogId);
+    boolean existsByContentHash(String contentHash);
+
+    List<Media> findByContentHashInAndVariantWidthsIsNotNull(Collection<String> contentHashes);
+
+    @Query("select distinct m.contentHash from Media m where m.contentHash in :hashes")
+    List<String> findExistingContentHashes(@Param("hashes") Collection<String> hashes);
+
+    @Query("select distinct m.url from Media m where m.url in :urls")
+    List<String> findExistingUrls(@Param("urls") Collection<String> urls);
+
+    @Query("select distinct m.blog.idBlog from Media m where m.contentHash = :contentHash")
+    List<Long> findBlogIdsByContentHash(@Param("contentHash") String contentHash);
+
+    @Query("select m.url from Media m where m.blog.idBlog = :blogId")
+    List<String> findUrlsByBlogId(@Param("blogId") Long blogId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Media m where m.blog.idBlog = :blogId")
+    int deleteByBlogId(@Param("blogId") Long blogId);
+
+    @Query("select m.id as id, m.blog.idBlog as blogId, m.url as url, m.mediaType as mediaType, "
+            + "m.createdAt as createdAt, m.width as width, m.height as height, "
+            + "m.variantWidths as variantWidths, m.placeholder as placeholder "
+            + "from Media m where m.blog.idBlog in :blogIds order by m.id asc")
+    List<MediaRow> findRowsByBlogIds(@Param("blogIds") Collection<Long> blogIds);
+
+    @Transactional
+    @Modifying
+    @Query("update Media m set m.width = :width, m.height = :height, m.variantWidths = :variantWidths, "
+            + "m.placeholder = :placeholder where m.contentHash = :contentHash")
+    int updateDerivatives(@Param("contentHash") String contentHash, @Param("width") Integer width,
+                          @Param("height") Integer height, @Param("variantWidths") String variantWidths,
+                          @Param("placeholder") String placeholder);
+
+    interface MediaRow {
+        Long getId();
+        Long getBlogId();
+        String getUrl();
+        String getMediaType();
+        Instant getCreatedAt();
+        Integer getWidth();
+        Integer getHeight();
+        String getVariantWidths();
+        String getPlaceholder();
+    }
 }
@@ -1,20 +1,81 @@
 package com.example._blog.Repositories;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example._blog.Dto.response.NotificationItem;
 import com.example._blog.Entity.Notification;
+import com.example._blog.Entity.enums.NotificationType;
 
 @Repository
 public interface NotificationRepo extends JpaRepository<Notification, Long> {
-    List<Notification> findByRecipientUserIdOrderByCreatedAtDesc(Long recipientUserId, Pageable pageable);
-    List<Notification> findByRecipientUserIdAndIsReadFalse(Long recipientUserId);
+    // Reads the foreign-key columns directly; only the actor's name needs a join.
+    String NOTIFICATION_ITEM = "select new com.example._blog.Dto.response.NotificationItem(n.id, n.type, n.message, "
+            + "n.isRead, n.createdAt, a.userId, a.userName, n.blog.idBlog, n.actorCount) "
+            + "from Notification n left join n.actor a ";
+
+    @Query(NOTIFICATION_ITEM + "where n.recipient.userId = :recipientUserId order by n.createdAt desc, n.id desc")
+    List<NotificationItem> findItemsByRecipient(@Param("recipientUserId") Long recipientUserId, Pageable pageable);
+
+    @Query(NOTIFICATION_ITEM + "where n.recipient.userId = :recipientUserId "
+            + "and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id)) "
+            + "order by n.createdAt desc, n.id desc")
+    List<NotificationItem> findItemsByRecipientBefore(@Param("recipientUserId") Long recipientUserId,
+                                                      @Param("createdAt") Instant createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+
+    @Query(NOTIFICATION_ITEM + "where n.recipient.userId = :recipientUserId and n.createdAt > :since "
+            + "order by n.createdAt asc, n.id asc")
+    List<NotificationItem> findItemsByRecipientSince(@Param("recipientUserId") Long recipientUserId,
+                                                     @Param("since") Instant since,
+                                                     Pageable pageable);
+
+    @Query("select n.recipient.userId, new com.example._blog.Dto.response.NotificationItem(n.id, n.type, n.message, "
+            + "n.isRead, n.createdAt, a.userId, a.userName, n.blog.idBlog, n.actorCount) "
+            + "from Notification n left join n.actor a "
+            + "where n.blog.idBlog = :blogId and n.type = :type and n.recipient.userId in :recipientUserIds")
+    List<Object[]> findItemsForBlogRecipients(@Param("blogId") Long blogId,
+                                              @Param("type") NotificationType type,
+                                              @Param("recipientUserIds") Collection<Long> recipientUserIds);
+
+    @Query(NOTIFICATION_ITEM + "where n.recipient.userId = :recipientUserId and n.blog.idBlog = :blogId "
+            + "and n.type = :type order by n.createdAt desc, n.id desc")
+    List<NotificationItem> findLatestItems(@Param("recipientUserId") Long recipientUserId,
+                                           @Param("blogId") Long blogId,
+                                           @Param("type") NotificationType type,
+                                           Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true where n.recipient.userId = :recipientUserId and n.isRead = false")
+    int markAllReadByRecipient(@Param("recipientUserId") Long recipientUserId);
+
+    // Only flips a row that is still in the opposite state, so concurrent requests adjust the badge once.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = :read "
+            + "where n.id = :id and n.recipient.userId = :recipientUserId and n.isRead <> :read")
+    int setReadByIdAndRecipient(@Param("id") Long id, @Param("recipientUserId") Long recipientUserId,
+                                @Param("read") boolean read);
+
+    @Query("select n.recipient.userId, count(n) from Notification n "
+            + "where n.blog.idBlog = :blogId and n.isRead = false group by n.recipient.userId")
+    List<Object[]> countUnreadByRecipientForBlog(@Param("blogId") Long blogId);
+
+    @Query("select n.recipient.userId, count(n) from Notification n "
+            + "where n.actor.userId = :actorUserId and n.recipient.userId <> :actorUserId and n.isRead = false "
+            + "group by n.recipient.userId")
+    List<Object[]> countUnreadByRecipientForActor(@Param("actorUserId") Long actorUserId);
+
     long countByRecipientUserIdAndIsReadFalse(Long recipientUserId);
-    Optional<Notification> findByIdAndRecipientUserId(Long id, Long recipientUserId);
+    boolean existsByIdAndRecipientUserId(Long id, Long recipientUserId);
     void deleteByBlogIdBlog(Long blogId);
     void deleteByRecipientUserIdOrActorUserId(Long recipientUserId, Long actorUserId);
 }
@@ -1,12 +1,23 @@
 package com.example._blog.Repositories;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.example._blog.Dto.response.AdminReportItemResponse;
 import com.example._blog.Entity.Report;
 
 @Repository
 public interface ReportRepo extends JpaRepository<Report, Long> {
     void deleteByBlogIdBlog(Long blogId);
+
+    @Query("select new com.example._blog.Dto.response.AdminReportItemResponse(r.id, r.reason, r.details, "
+            + "r.createdAt, reporter.userId, reporter.userName, b.idBlog, b.title, b.content, "
+            + "author.userId, author.userName, reported.userId, reported.userName) "
+            + "from Report r left join r.reporter reporter left join r.blog b left join b.user author "
+            + "left join r.reportedUser reported order by r.createdAt desc")
+    List<AdminReportItemResponse> findAdminItems();
     void deleteByReporterUserIdOrReportedUserUserId(Long reporterUserId, Long reportedUserUserId);
 }
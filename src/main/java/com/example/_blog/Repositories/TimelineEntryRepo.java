@@ -0,0 +1,46 @@
+package com.example._blog.Repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example._blog.Dto.response.BlogResponse;
+import com.example._blog.Entity.TimelineEntry;
+import com.example._blog.Entity.enums.BlogStatus;
+
+@Repository
+public interface TimelineEntryRepo extends JpaRepository<TimelineEntry, Long> {
+    String TIMELINE_RESPONSE = "select new com.example._blog.Dto.response.BlogResponse(b.idBlog, b.title, "
+            + "b.content, b.status, u.userId, u.userName, u.firstName, u.lastName, b.media, b.commentCount, "
+            + "b.likeCount, b.createdAt, b.updatedAt) "
+            + "from TimelineEntry t join Blog b on b.idBlog = t.blogId left join b.user u ";
+
+    @Query(TIMELINE_RESPONSE + "where t.userId = :userId and b.status = :status order by t.blogId desc")
+    List<BlogResponse> findTimelineResponses(@Param("userId") Long userId,
+                                             @Param("status") BlogStatus status,
+                                             Pageable pageable);
+
+    @Query(TIMELINE_RESPONSE + "where t.userId = :userId and b.status = :status and t.blogId < :beforeId "
+            + "order by t.blogId desc")
+    List<BlogResponse> findTimelineResponsesBefore(@Param("userId") Long userId,
+                                                   @Param("status") BlogStatus status,
+                                                   @Param("beforeId") Long beforeId,
+                                                   Pageable pageable);
+
+    @Modifying
+    @Query("delete from TimelineEntry t where t.userId = :userId "
+            + "and t.blogId in (select b.idBlog from Blog b where b.user.userId = :authorId)")
+    void deleteByUserIdAndAuthorId(@Param("userId") Long userId, @Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("delete from TimelineEntry t where t.blogId in (select b.idBlog from Blog b where b.user.userId = :authorId)")
+    void deleteByAuthorId(@Param("authorId") Long authorId);
+
+    void deleteByBlogId(Long blogId);
+    void deleteByUserId(Long userId);
+}
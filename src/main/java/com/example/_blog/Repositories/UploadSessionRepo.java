@@ -0,0 +1,36 @@
+package com.example._blog.Repositories;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example._blog.Entity.UploadSession;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface UploadSessionRepo extends JpaRepository<UploadSession, String> {
+    Optional<UploadSession> findByIdAndUserId(String id, Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UploadSession s where s.id = :id and s.userId = :userId")
+    Optional<UploadSession> lockByIdAndUserId(@Param("id") String id, @Param("userId") Long userId);
+
+    // Advances the committed offset only if no other chunk got there first.
+    @Transactional
+    @Modifying
+    @Query("update UploadSession s set s.receivedBytes = :receivedBytes, s.updatedAt = :updatedAt "
+            + "where s.id = :id and s.userId = :userId and s.receivedBytes = :offset")
+    int advance(@Param("id") String id, @Param("userId") Long userId, @Param("offset") Long offset,
+                @Param("receivedBytes") Long receivedBytes, @Param("updatedAt") Instant updatedAt);
+
+    List<UploadSession> findTop100ByUpdatedAtBeforeOrderByUpdatedAtAsc(Instant cutoff);
+}
@@ -1,6 +1,12 @@
 package com.example._blog.Repositories;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example._blog.Entity.User;
@@ -15,4 +21,19 @@ public interface UserRepo extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     User findFirstByRoleOrderByUserIdAsc(UserRole role);
+
+    @Query("select u.unreadNotifications from User u where u.userId = :userId")
+    Optional<Long> findUnreadNotificationsById(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update User u set u.unreadNotifications = case when u.unreadNotifications + :delta < 0 then 0 "
+            + "else u.unreadNotifications + :delta end where u.userId = :userId")
+    int adjustUnreadNotifications(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Query("select u.userId from User u where u.userId in :userIds and u.timelinePull = true")
+    List<Long> findTimelinePullIds(@Param("userIds") List<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update User u set u.timelinePull = true where u.userId = :userId and u.timelinePull = false")
+    int markTimelinePull(@Param("userId") Long userId);
 }
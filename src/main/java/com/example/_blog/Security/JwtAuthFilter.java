@@ -9,6 +9,8 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example._blog.Security.JwtService.VerifiedToken;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,29 +18,36 @@ import jakarta.servlet.http.HttpServletResponse;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
+    private static final String STREAM_PATH = "/api/notifications/me/stream";
+
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
-    public JwtAuthFilter(JwtService jwtService, CustomUserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtService jwtService, CustomUserDetailsService userDetailsService,
+                         PrincipalCache principalCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
-        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (header == null || !header.startsWith("Bearer ")) {
+        String token = resolveToken(request);
+        if (token == null || token.isBlank()) {
             chain.doFilter(request, response);
             return;
         }
 
         try {
-            String token = header.substring(7);
-            String username = jwtService.extractUsername(token);
+            VerifiedToken verified = jwtService.verify(token);
+            String username = verified.subject();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserPrincipal userDetails = (UserPrincipal) userDetailsService.loadUserByUsername(username);
-                if (jwtService.isValid(token, userDetails) && userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
+                UserPrincipal userDetails = principalCache.get(username,
+                        (key) -> (UserPrincipal) userDetailsService.loadUserByUsername(key));
+                if (username.equals(userDetails.getUsername()) && !verified.isExpired()
+                        && userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -53,4 +62,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
+
+    private String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring(7);
+        }
+        // EventSource cannot set headers, so the notification stream alone accepts the token as a parameter.
+        if ("GET".equals(request.getMethod()) && STREAM_PATH.equals(request.getRequestURI())) {
+            return request.getParameter("access_token");
+        }
+        return null;
+    }
 }
@@ -1,28 +1,43 @@
 package com.example._blog.Security;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 
+import javax.crypto.SecretKey;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.example._blog.Entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 @Service
 public class JwtService {
-    private final String secret;
     private final long expirationMs;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     public JwtService(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration-ms}") long expirationMs
+            @Value("${jwt.expiration-ms}") long expirationMs,
+            @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize
     ) {
-        this.secret = secret;
         this.expirationMs = expirationMs;
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .build();
     }
 
     public String generateToken(User user) {
@@ -33,29 +48,36 @@ public class JwtService {
                 .claim("role", user.getRole().name())
                 .issuedAt(now)
                 .expiration(exp)
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .signWith(key)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return getClaims(token).getSubject();
+    public VerifiedToken verify(String token) {
+        // Keyed by the whole compact token, so a hit implies the same header, payload and signature.
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (cached.isExpired()) {
+                verifiedTokens.invalidate(token);
+                throw new IllegalArgumentException("Token expired");
+            }
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        verifiedTokens.put(token, verified);
+        return verified;
     }
 
-    public boolean isValid(String token, UserPrincipal userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isExpired(token);
-    }
-
-    private boolean isExpired(String token) {
-        Date exp = getClaims(token).getExpiration();
-        return exp.before(new Date());
+    public String extractUsername(String token) {
+        return verify(token).subject();
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public record VerifiedToken(String subject, String role, Instant expiresAt) {
+        public boolean isExpired() {
+            return expiresAt != null && expiresAt.isBefore(Instant.now());
+        }
     }
 }
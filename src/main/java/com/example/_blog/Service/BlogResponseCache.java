@@ -0,0 +1,93 @@
+package com.example._blog.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example._blog.Dto.response.BlogResponse;
+import com.example._blog.Repositories.BlogRepo.BlogCounters;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Assembled single-post bodies, with the like and comment counters held separately: counters
+// change on every like, so keeping them apart lets a hot post's body stay cached while only
+// the cheap counter lookup is repeated.
+@Component
+public class BlogResponseCache {
+    private final Cache<Long, BlogResponse> bodies;
+    private final Cache<Long, BlogCounters> counters;
+
+    public BlogResponseCache(MeterRegistry meterRegistry,
+                             @Value("${blog.response-cache.max-size:10000}") long maxSize,
+                             @Value("${blog.response-cache.ttl:10m}") Duration ttl,
+                             @Value("${blog.response-cache.counters-ttl:30s}") Duration countersTtl) {
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(countersTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "blog.responses");
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "blog.counters");
+    }
+
+    public BlogResponse body(Long blogId, Function<Long, BlogResponse> loader) {
+        return bodies.get(blogId, loader);
+    }
+
+    public BlogCounters counters(Long blogId, Function<Long, BlogCounters> loader) {
+        return counters.get(blogId, loader);
+    }
+
+    public void evict(Long blogId) {
+        if (blogId == null) {
+            return;
+        }
+        invalidate(() -> {
+            bodies.invalidate(blogId);
+            counters.invalidate(blogId);
+        });
+    }
+
+    public void evictAll(Collection<Long> blogIds) {
+        if (blogIds.isEmpty()) {
+            return;
+        }
+        invalidate(() -> {
+            bodies.invalidateAll(blogIds);
+            counters.invalidateAll(blogIds);
+        });
+    }
+
+    public void evictCounters(Long blogId) {
+        if (blogId == null) {
+            return;
+        }
+        invalidate(() -> counters.invalidate(blogId));
+    }
+
+    private void invalidate(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A request that read the old rows before our commit may have re-populated the entry.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.example._blog.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import org.springframework.stereotype.Service;
@@ -15,20 +20,23 @@ import org.springframework.web.server.ResponseStatusException;
 import com.example._blog.Dto.request.BlogCreateRequest;
 import com.example._blog.Dto.response.BlogResponse;
 import com.example._blog.Dto.request.BlogUpdateRequest;
+import com.example._blog.Dto.response.FeedPageResponse;
 import com.example._blog.Dto.response.MediaResponse;
 import com.example._blog.Entity.Blog;
 import com.example._blog.Entity.User;
 import com.example._blog.Entity.enums.BlogStatus;
 import com.example._blog.Repositories.BlogRepo;
+import com.example._blog.Repositories.BlogRepo.BlogCounters;
 import com.example._blog.Repositories.CommentRepo;
 import com.example._blog.Repositories.LikeRepo;
-import com.example._blog.Repositories.NotificationRepo;
 import com.example._blog.Repositories.ReportRepo;
 import com.example._blog.Repositories.UserRepo;
 
 @Service
 public class BlogService {
     private static final int MAX_CONTENT_LENGTH = 1000;
+    private static final int MAX_FEED_PAGE_SIZE = 50;
+    private static final String FEED_CURSOR_PREFIX = "b:";
 
     private final BlogRepo blogRepo;
     private final UserRepo userRepo;
@@ -37,12 +45,14 @@ public class BlogService {
     private final NotificationService notificationService;
     private final CommentRepo commentRepo;
     private final LikeRepo likeRepo;
-    private final NotificationRepo notificationRepo;
     private final ReportRepo reportRepo;
+    private final TimelineService timelineService;
+    private final BlogResponseCache responseCache;
 
     public BlogService(BlogRepo blogRepo, UserRepo userRepo, MediaService mediaService, FollowService followService,
             NotificationService notificationService,
-            CommentRepo commentRepo, LikeRepo likeRepo, NotificationRepo notificationRepo, ReportRepo reportRepo) {
+            CommentRepo commentRepo, LikeRepo likeRepo, ReportRepo reportRepo,
+            TimelineService timelineService, BlogResponseCache responseCache) {
         this.blogRepo = blogRepo;
         this.userRepo = userRepo;
         this.mediaService = mediaService;
@@ -50,8 +60,9 @@ public class BlogService {
         this.notificationService = notificationService;
         this.commentRepo = commentRepo;
         this.likeRepo = likeRepo;
-        this.notificationRepo = notificationRepo;
         this.reportRepo = reportRepo;
+        this.timelineService = timelineService;
+        this.responseCache = responseCache;
     }
 
     public BlogResponse create(BlogCreateRequest request, Long userId) {
@@ -72,6 +83,7 @@ public class BlogService {
                 .build();
 
         Blog saved = blogRepo.save(blog);
+        timelineService.fanOut(saved);
         notificationService.notifyNewPost(saved);
         return toResponse(saved);
     }
@@ -97,6 +109,7 @@ public class BlogService {
 
         Blog saved = blogRepo.save(blog);
         mediaService.uploadToBlog(saved, files, false);
+        timelineService.fanOut(saved);
         notificationService.notifyNewPost(saved);
         return toResponse(saved);
     }
@@ -111,6 +124,7 @@ public class BlogService {
         }
     }
 
+    @org.springframework.transaction.annotation.Transactional
     public BlogResponse update(Long blogId, BlogUpdateRequest changes) {
         Blog existing = getById(blogId);
         if (changes.title() != null) {
@@ -127,7 +141,9 @@ public class BlogService {
             existing.setStatus(changes.status());
         }
         existing.setUpdatedAt(Instant.now());
-        return toResponse(blogRepo.save(existing));
+        Blog saved = blogRepo.save(existing);
+        responseCache.evict(blogId);
+        return toResponse(saved);
     }
 
     @org.springframework.transaction.annotation.Transactional
@@ -136,59 +152,88 @@ public class BlogService {
         reportRepo.deleteByBlogIdBlog(blogId);
         likeRepo.deleteByBlogIdBlog(blogId);
         commentRepo.deleteByBlogIdBlog(blogId);
-        notificationRepo.deleteByBlogIdBlog(blogId);
+        notificationService.deleteByBlog(blogId);
+        timelineService.removeBlog(blogId);
         mediaService.deleteByBlog(blogId);
         blogRepo.delete(existing);
+        responseCache.evict(blogId);
     }
 
     public Blog getById(Long blogId) {
-        return blogRepo.findById(blogId)
+        return blogRepo.findWithUserByIdBlog(blogId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Blog not found"));
     }
 
     public BlogResponse getByIdResponse(Long blogId) {
-        Blog blog = getById(blogId);
-        if (blog.getStatus() == BlogStatus.HIDDEN) {
+        BlogResponse body = responseCache.body(blogId, (id) -> blogRepo.findResponseById(id)
+                .map((blog) -> blog.withMediaFiles(mediaService.getByBlog(id)))
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Blog not found")));
+        if (body.status() == BlogStatus.HIDDEN) {
             throw new ResponseStatusException(NOT_FOUND, "Blog not found");
         }
-        return toResponse(blog);
+        BlogCounters counters = responseCache.counters(blogId, (id) -> blogRepo.findCountersById(id)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Blog not found")));
+        return body.withCounters(counters.getCommentCount(), counters.getLikeCount());
     }
 
     public List<BlogResponse> getByUser(Long userId) {
-        return blogRepo.findByUserUserIdAndStatusOrderByIdBlogDesc(userId, BlogStatus.ACTIVE).stream()
-                .map(this::toResponse)
-                .toList();
+        return withMedia(blogRepo.findResponsesByUser(userId, BlogStatus.ACTIVE));
     }
 
     public List<BlogResponse> getByStatus(BlogStatus status) {
         if (status == BlogStatus.HIDDEN) {
             return List.of();
         }
-        return blogRepo.findByStatus(status).stream()
-                .map(this::toResponse)
-                .toList();
+        return withMedia(blogRepo.findResponsesByStatus(status));
     }
 
-    public List<Blog> getFeed(Long currentUserId) {
-        List<Long> authorIds = new ArrayList<>(followService.getFollowingIds(currentUserId));
+    public List<BlogResponse> getFeed(Long currentUserId, Long beforeId, int limit) {
+        List<Long> followingIds = followService.getFollowingIds(currentUserId);
+        if (timelineService.isEnabled()) {
+            return timelineService.getFeed(currentUserId, followingIds, beforeId, limit);
+        }
+        List<Long> authorIds = new ArrayList<>(followingIds);
         authorIds.add(currentUserId);
-        return blogRepo.findFeedBlogs(authorIds, BlogStatus.ACTIVE);
+        Pageable pageable = PageRequest.of(0, limit);
+        if (beforeId == null) {
+            return blogRepo.findFeedResponses(authorIds, BlogStatus.ACTIVE, pageable);
+        }
+        return blogRepo.findFeedResponsesBefore(authorIds, BlogStatus.ACTIVE, beforeId, pageable);
     }
 
-    public List<BlogResponse> getFeedResponses(Long currentUserId) {
-        return getFeed(currentUserId).stream()
-                .map(this::toResponse)
-                .toList();
+    public FeedPageResponse getFeedResponses(Long currentUserId, String cursor, int limit) {
+        int safeLimit = Math.min(Math.max(limit, 1), MAX_FEED_PAGE_SIZE);
+        Long beforeId = decodeFeedCursor(cursor);
+        // Fetch one extra row so we know whether another page exists without a count query.
+        List<BlogResponse> blogs = getFeed(currentUserId, beforeId, safeLimit + 1);
+        boolean hasMore = blogs.size() > safeLimit;
+        List<BlogResponse> page = hasMore ? blogs.subList(0, safeLimit) : blogs;
+        String nextCursor = hasMore ? encodeFeedCursor(page.get(page.size() - 1).idBlog()) : null;
+        return new FeedPageResponse(withMedia(page), nextCursor);
+    }
+
+    private String encodeFeedCursor(Long idBlog) {
+        byte[] raw = (FEED_CURSOR_PREFIX + idBlog).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
     }
 
-    public List<Blog> getMyBlogs(Long currentUserId) {
-        return blogRepo.findByUserUserIdAndStatusOrderByIdBlogDesc(currentUserId, BlogStatus.ACTIVE);
+    private Long decodeFeedCursor(String cursor) {
+        if (!hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(FEED_CURSOR_PREFIX)) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid feed cursor");
+            }
+            return Long.parseLong(raw.substring(FEED_CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid feed cursor");
+        }
     }
 
     public List<BlogResponse> getMyBlogsResponses(Long currentUserId) {
-        return getMyBlogs(currentUserId).stream()
-                .map(this::toResponse)
-                .toList();
+        return withMedia(blogRepo.findResponsesByUser(currentUserId, BlogStatus.ACTIVE));
     }
 
     public long getMyBlogCount(Long currentUserId) {
@@ -196,16 +241,32 @@ public class BlogService {
     }
 
     public List<BlogResponse> getAllResponses() {
-        return blogRepo.findAll(Sort.by(Sort.Direction.DESC, "createdAt")).stream()
-                .map(this::toResponse)
-                .toList();
+        return withMedia(blogRepo.findAllResponses());
     }
 
+    @org.springframework.transaction.annotation.Transactional
     public BlogResponse updateStatus(Long blogId, BlogStatus status) {
         Blog existing = getById(blogId);
         existing.setStatus(status);
         existing.setUpdatedAt(Instant.now());
-        return toResponse(blogRepo.save(existing));
+        Blog saved = blogRepo.save(existing);
+        responseCache.evict(blogId);
+        return toResponse(saved);
+    }
+
+    private List<BlogResponse> withMedia(List<BlogResponse> blogs) {
+        if (blogs.isEmpty()) {
+            return List.of();
+        }
+        // One IN query for the whole page instead of one media lookup per post.
+        List<Long> blogIds = blogs.stream()
+                .map(BlogResponse::idBlog)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, List<MediaResponse>> mediaByBlog = mediaService.getByBlogIds(blogIds);
+        return blogs.stream()
+                .map((blog) -> blog.withMediaFiles(mediaByBlog.getOrDefault(blog.idBlog(), List.of())))
+                .toList();
     }
 
     private BlogResponse toResponse(Blog blog) {
@@ -215,7 +276,10 @@ public class BlogService {
         } else {
             mediaFiles = mediaService.getByBlog(blog.getIdBlog());
         }
+        return toResponse(blog, mediaFiles);
+    }
 
+    private BlogResponse toResponse(Blog blog, List<MediaResponse> mediaFiles) {
         return new BlogResponse(
                 blog.getIdBlog(),
                 blog.getTitle(),
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.example._blog.Dto.response.CommentResponse;
 import com.example._blog.Entity.Blog;
 import com.example._blog.Entity.Comment;
 import com.example._blog.Entity.User;
@@ -22,17 +23,19 @@ public class CommentService {
     private final BlogRepo blogRepo;
     private final UserRepo userRepo;
     private final NotificationService notificationService;
+    private final BlogResponseCache responseCache;
 
     public CommentService(CommentRepo commentRepo, BlogRepo blogRepo, UserRepo userRepo,
-                          NotificationService notificationService) {
+                          NotificationService notificationService, BlogResponseCache responseCache) {
         this.commentRepo = commentRepo;
         this.blogRepo = blogRepo;
         this.userRepo = userRepo;
         this.notificationService = notificationService;
+        this.responseCache = responseCache;
     }
 
     @Transactional
-    public Comment add(Long blogId, Long userId, Comment comment) {
+    public CommentResponse add(Long blogId, Long userId, Comment comment) {
         if (comment == null || comment.getContent() == null || comment.getContent().trim().isEmpty()) {
             throw new ResponseStatusException(BAD_REQUEST, "Comment cannot be empty");
         }
@@ -47,20 +50,22 @@ public class CommentService {
         comment.setUpdatedAt(null);
 
         Comment saved = commentRepo.save(comment);
-        blog.setCommentCount(blog.getCommentCount() + 1);
-        blogRepo.save(blog);
         notificationService.notifyComment(blog, user);
-        return saved;
+        blogRepo.incrementCommentCount(blogId);
+        responseCache.evictCounters(blogId);
+        return toResponse(saved);
     }
 
     @Transactional
     public void delete(Long commentId) {
         Comment existing = getById(commentId);
-        Blog blog = existing.getBlog();
-        commentRepo.delete(existing);
-        if (blog != null && blog.getCommentCount() != null && blog.getCommentCount() > 0) {
-            blog.setCommentCount(blog.getCommentCount() - 1);
-            blogRepo.save(blog);
+        Long blogId = existing.getBlog() == null ? null : existing.getBlog().getIdBlog();
+        if (commentRepo.removeById(commentId) == 0) {
+            throw new ResponseStatusException(NOT_FOUND, "Comment not found");
+        }
+        if (blogId != null) {
+            blogRepo.decrementCommentCount(blogId);
+            responseCache.evictCounters(blogId);
         }
     }
 
@@ -69,7 +74,27 @@ public class CommentService {
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Comment not found"));
     }
 
-    public List<Comment> getByBlog(Long blogId) {
-        return commentRepo.findByBlogIdBlog(blogId);
+    public CommentResponse getResponseById(Long commentId) {
+        return commentRepo.findWithUserById(commentId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Comment not found"));
+    }
+
+    public List<CommentResponse> getByBlog(Long blogId) {
+        return commentRepo.findWithUserByBlogIdBlog(blogId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private CommentResponse toResponse(Comment comment) {
+        User user = comment.getUser();
+        return new CommentResponse(
+                comment.getId(),
+                comment.getContent(),
+                comment.getCreatedAt(),
+                comment.getUpdatedAt(),
+                comment.getBlog() == null ? null : comment.getBlog().getIdBlog(),
+                user == null ? null : new CommentResponse.Author(user.getUserId(), user.getUserName(),
+                        user.getFirstName(), user.getLastName()));
     }
 }
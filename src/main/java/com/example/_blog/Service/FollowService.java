@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -23,12 +24,14 @@ public class FollowService {
     private final FollowRepo followRepo;
     private final UserRepo userRepo;
     private final NotificationService notificationService;
+    private final TimelineService timelineService;
 
     public FollowService(FollowRepo followRepo, UserRepo userRepo,
-                         NotificationService notificationService) {
+                         NotificationService notificationService, TimelineService timelineService) {
         this.followRepo = followRepo;
         this.userRepo = userRepo;
         this.notificationService = notificationService;
+        this.timelineService = timelineService;
     }
 
     @Transactional
@@ -36,9 +39,6 @@ public class FollowService {
         if (currentUserId.equals(targetUserId)) {
             throw new ResponseStatusException(BAD_REQUEST, "You cannot follow yourself");
         }
-        if (followRepo.existsByFollowerUserIdAndFollowingUserId(currentUserId, targetUserId)) {
-            throw new ResponseStatusException(CONFLICT, "Already following");
-        }
         User follower = userRepo.findById(currentUserId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "User not found"));
         User following = userRepo.findById(targetUserId)
@@ -49,18 +49,25 @@ public class FollowService {
                 .following(following)
                 .createdAt(Instant.now())
                 .build();
-        followRepo.save(follow);
+        try {
+            followRepo.saveAndFlush(follow);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(CONFLICT, "Already following");
+        }
+        timelineService.backfill(currentUserId, targetUserId);
         notificationService.notifyFollow(follower, following);
     }
 
     @Transactional
     public void unfollowUser(Long currentUserId, Long targetUserId) {
         followRepo.deleteByFollowerUserIdAndFollowingUserId(currentUserId, targetUserId);
+        timelineService.removeAuthor(currentUserId, targetUserId);
     }
 
     @Transactional
     public void removeFollower(Long currentUserId, Long followerUserId) {
         followRepo.deleteByFollowerUserIdAndFollowingUserId(followerUserId, currentUserId);
+        timelineService.removeAuthor(followerUserId, currentUserId);
     }
 
     public List<Long> getFollowingIds(Long currentUserId) {
@@ -1,14 +1,20 @@
 package com.example._blog.Service;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.CONFLICT;
 
+import com.example._blog.Dto.response.LikeResponse;
 import com.example._blog.Entity.Blog;
 import com.example._blog.Entity.Like;
 import com.example._blog.Entity.User;
@@ -18,24 +24,25 @@ import com.example._blog.Repositories.UserRepo;
 
 @Service
 public class LikeService {
+    private static final int MAX_STATUS_BATCH = 100;
+
     private final LikeRepo likeRepo;
     private final BlogRepo blogRepo;
     private final UserRepo userRepo;
     private final NotificationService notificationService;
+    private final BlogResponseCache responseCache;
 
     public LikeService(LikeRepo likeRepo, BlogRepo blogRepo, UserRepo userRepo,
-                       NotificationService notificationService) {
+                       NotificationService notificationService, BlogResponseCache responseCache) {
         this.likeRepo = likeRepo;
         this.blogRepo = blogRepo;
         this.userRepo = userRepo;
         this.notificationService = notificationService;
+        this.responseCache = responseCache;
     }
 
     @Transactional
-    public Like like(Long blogId, Long userId) {
-        if (likeRepo.existsByBlogIdBlogAndUserUserId(blogId, userId)) {
-            throw new ResponseStatusException(CONFLICT, "Already liked");
-        }
+    public LikeResponse like(Long blogId, Long userId) {
         Blog blog = blogRepo.findById(blogId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Blog not found"));
         User user = userRepo.findById(userId)
@@ -47,32 +54,54 @@ public class LikeService {
                 .createdAt(Instant.now())
                 .build();
 
-        Like saved = likeRepo.save(like);
-        blog.setLikeCount(blog.getLikeCount() + 1);
-        blogRepo.save(blog);
+        Like saved;
+        try {
+            // uk_likes_blog_user rejects the second of two concurrent likes.
+            saved = likeRepo.saveAndFlush(like);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(CONFLICT, "Already liked");
+        }
         notificationService.notifyLike(blog, user);
-        return saved;
+        // Single-statement increment: concurrent likes cannot overwrite each other's count.
+        blogRepo.incrementLikeCount(blogId);
+        responseCache.evictCounters(blogId);
+        return new LikeResponse(saved.getId(), blogId, userId, saved.getCreatedAt(), saved.getUpdatedAt());
     }
 
     @Transactional
     public void unlike(Long blogId, Long userId) {
-        Like existing = likeRepo.findByBlogIdBlogAndUserUserId(blogId, userId);
-        if (existing == null) {
+        if (likeRepo.removeByBlogAndUser(blogId, userId) == 0) {
             throw new ResponseStatusException(NOT_FOUND, "Like not found");
         }
-        Blog blog = existing.getBlog();
-        likeRepo.delete(existing);
-        if (blog != null && blog.getLikeCount() != null && blog.getLikeCount() > 0) {
-            blog.setLikeCount(blog.getLikeCount() - 1);
-            blogRepo.save(blog);
-        }
+        blogRepo.decrementLikeCount(blogId);
+        responseCache.evictCounters(blogId);
     }
 
     public LikeStatus getStatus(Long blogId, Long userId) {
-        boolean liked = likeRepo.existsByBlogIdBlogAndUserUserId(blogId, userId);
-        long count = likeRepo.countByBlogIdBlog(blogId);
-        return new LikeStatus(liked, count);
+        LikeStatusItem item = getStatuses(List.of(blogId), userId).get(0);
+        return new LikeStatus(item.liked(), item.likeCount());
+    }
+
+    public List<LikeStatusItem> getStatuses(List<Long> blogIds, Long userId) {
+        if (blogIds == null || blogIds.isEmpty()) {
+            return List.of();
+        }
+        if (blogIds.size() > MAX_STATUS_BATCH) {
+            throw new ResponseStatusException(BAD_REQUEST, "Maximum 100 posts per request");
+        }
+        Map<Long, LikeStatusItem> byBlog = new LinkedHashMap<>();
+        for (Object[] row : likeRepo.findViewerStates(blogIds, userId)) {
+            Long id = (Long) row[0];
+            Long count = (Long) row[1];
+            boolean liked = row[2] != null;
+            byBlog.merge(id, new LikeStatusItem(id, liked, count == null ? 0L : count),
+                    (current, next) -> current.liked() ? current : next);
+        }
+        return blogIds.stream()
+                .map((id) -> byBlog.getOrDefault(id, new LikeStatusItem(id, false, 0L)))
+                .toList();
     }
 
     public record LikeStatus(boolean liked, long likeCount) {}
+    public record LikeStatusItem(Long blogId, boolean liked, long likeCount) {}
 }
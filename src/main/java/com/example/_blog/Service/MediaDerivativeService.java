@@ -0,0 +1,259 @@
+package com.example._blog.Service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example._blog.Repositories.MediaRepo;
+import com.example._blog.Storage.MediaStorage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class MediaDerivativeService {
+    private static final Logger log = LoggerFactory.getLogger(MediaDerivativeService.class);
+    static final int[] WIDTHS = {320, 640, 1280};
+    private static final int PLACEHOLDER_SIZE = 16;
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final MediaRepo mediaRepo;
+    private final MediaStorage storage;
+    private final BlogResponseCache responseCache;
+    private final ThreadPoolExecutor executor;
+    private final Counter generatedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    public MediaDerivativeService(MediaRepo mediaRepo, MediaStorage storage, BlogResponseCache responseCache,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${media.derivatives.pool-size:2}") int poolSize,
+                                  @Value("${media.derivatives.queue-capacity:200}") int queueCapacity) {
+        this.mediaRepo = mediaRepo;
+        this.storage = storage;
+        this.responseCache = responseCache;
+        this.generatedCounter = Counter.builder("media.derivatives.generated").register(meterRegistry);
+        this.failedCounter = Counter.builder("media.derivatives.failed").register(meterRegistry);
+        this.droppedCounter = Counter.builder("media.derivatives.dropped").register(meterRegistry);
+        AtomicInteger threadIds = new AtomicInteger();
+        // Derivatives are only an optimisation, so a full queue drops the job rather than making the
+        // upload request resize images itself; clients keep getting the original until it is regenerated.
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                (runnable) -> {
+                    Thread thread = new Thread(runnable, "media-derivatives-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> droppedCounter.increment());
+        Gauge.builder("media.derivatives.queue.depth", executor, (pool) -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public static boolean supports(String mimeType) {
+        return "image/jpeg".equals(mimeType) || "image/png".equals(mimeType);
+    }
+
+    public static String derivativeName(String storedName, int width) {
+        int dot = storedName.lastIndexOf('.');
+        return storedName.substring(0, dot) + "_w" + width + storedName.substring(dot);
+    }
+
+    public static List<Integer> parseWidths(String variantWidths) {
+        List<Integer> widths = new ArrayList<>();
+        if (variantWidths == null || variantWidths.isBlank()) {
+            return widths;
+        }
+        for (String width : variantWidths.split(",")) {
+            widths.add(Integer.valueOf(width.trim()));
+        }
+        return widths;
+    }
+
+    public void submit(String contentHash, String storedName) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> run(contentHash, storedName));
+                }
+            });
+        } else {
+            executor.execute(() -> run(contentHash, storedName));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void run(String contentHash, String storedName) {
+        try {
+            Derivatives derivatives = generate(storedName);
+            if (derivatives == null) {
+                return;
+            }
+            String widths = derivatives.widths().stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            mediaRepo.updateDerivatives(contentHash, derivatives.width(), derivatives.height(), widths,
+                    derivatives.placeholder());
+            // Cached post bodies still advertise the original only.
+            responseCache.evictAll(mediaRepo.findBlogIdsByContentHash(contentHash));
+            generatedCounter.increment();
+        } catch (IOException | RuntimeException ex) {
+            failedCounter.increment();
+            log.warn("Failed to generate derivatives for {}", storedName, ex);
+        }
+    }
+
+    Derivatives generate(String storedName) throws IOException {
+        String format = storedName.endsWith(".png") ? "png" : "jpeg";
+        BufferedImage source;
+        int width;
+        int height;
+        try (InputStream original = storage.open(storedName);
+             ImageInputStream input = ImageIO.createImageInputStream(original)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                width = reader.getWidth(0);
+                height = reader.getHeight(0);
+                // Refuse decompression bombs before allocating the raster.
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    log.warn("Skipping derivatives for {}: {}x{} exceeds the pixel budget", storedName, width, height);
+                    return null;
+                }
+                // Decode at a reduced resolution when even the largest bucket needs far fewer pixels.
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, width / (WIDTHS[WIDTHS.length - 1] * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                source = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        boolean opaque = "jpeg".equals(format);
+        List<Integer> widths = new ArrayList<>();
+        for (int bucket : WIDTHS) {
+            if (bucket >= width) {
+                break;
+            }
+            BufferedImage resized = scale(source, bucket, scaledHeight(width, height, bucket), opaque);
+            write(resized, format, derivativeName(storedName, bucket));
+            widths.add(bucket);
+        }
+
+        int placeholderWidth = width >= height ? PLACEHOLDER_SIZE : Math.max(1, PLACEHOLDER_SIZE * width / height);
+        int placeholderHeight = width >= height ? Math.max(1, PLACEHOLDER_SIZE * height / width) : PLACEHOLDER_SIZE;
+        BufferedImage tiny = scale(source, placeholderWidth, placeholderHeight, true);
+        ByteArrayOutputStream placeholder = new ByteArrayOutputStream();
+        encode(tiny, "jpeg", placeholder);
+        String dataUri = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(placeholder.toByteArray());
+        return new Derivatives(width, height, widths, dataUri);
+    }
+
+    private int scaledHeight(int width, int height, int targetWidth) {
+        return Math.max(1, (int) Math.round((double) height * targetWidth / width));
+    }
+
+    // Halves step by step so bilinear filtering never skips source pixels on large reductions.
+    private BufferedImage scale(BufferedImage source, int width, int height, boolean opaque) {
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, opaque);
+        }
+        return draw(current, width, height, opaque);
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height, boolean opaque) {
+        BufferedImage target = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            if (opaque) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void write(BufferedImage image, String format, String key) throws IOException {
+        Path staging = storage.newStagingPath();
+        try {
+            try (OutputStream out = Files.newOutputStream(staging)) {
+                encode(image, format, out);
+            }
+            storage.store(key, staging, "png".equals(format) ? "image/png" : "image/jpeg");
+        } finally {
+            Files.deleteIfExists(staging);
+        }
+    }
+
+    private void encode(BufferedImage image, String format, OutputStream out) throws IOException {
+        if ("png".equals(format)) {
+            ImageIO.write(image, "png", out);
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    record Derivatives(int width, int height, List<Integer> widths, String placeholder) {}
+}
@@ -0,0 +1,376 @@
+package com.example._blog.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example._blog.Repositories.BlogRepo;
+import com.example._blog.Repositories.MediaRepo;
+import com.example._blog.Storage.MediaStorage;
+import com.example._blog.Storage.StoredObject;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Owns the lifecycle of stored media bytes: content-addressed files are shared between Media rows,
+// so nothing is unlinked while a committed row or an in-flight upload still refers to the hash.
+@Service
+public class MediaJanitor {
+    private static final Logger log = LoggerFactory.getLogger(MediaJanitor.class);
+    private static final Pattern CONTENT_ADDRESSED_KEY = Pattern.compile("([0-9a-f]{64})(_w\\d+)?\\.[a-z0-9]+");
+    private static final String INSERT_PIN_SQL =
+            "insert into media_pins (content_hash, pinned_until) values (?, ?) on conflict (content_hash) do nothing";
+    private static final String EXTEND_PIN_SQL =
+            "update media_pins set pinned_until = ? where content_hash = ? and pinned_until < ?";
+    private static final String LOCK_PIN_SQL = "select pinned_until from media_pins where content_hash = ? for update";
+    private static final String DELETE_PIN_SQL = "delete from media_pins where content_hash = ?";
+    private static final String PURGE_PINS_SQL = "delete from media_pins where pinned_until < ?";
+
+    private final MediaRepo mediaRepo;
+    private final BlogRepo blogRepo;
+    private final MediaStorage storage;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Duration orphanGrace;
+    private final int scanBatchSize;
+    private final long scanPauseMs;
+    private final String[] legacyUrlPrefixes;
+    private final Counter scannedCounter;
+    private final Counter deletedCounter;
+    private final Counter reclaimedBytesCounter;
+    private final Counter droppedCounter;
+    private final Timer sweepTimer;
+    private final Map<String, Integer> pendingHashes = new ConcurrentHashMap<>();
+    private final Object[] hashLocks = new Object[64];
+
+    public MediaJanitor(MediaRepo mediaRepo, BlogRepo blogRepo, MediaStorage storage, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                        @Value("${media.janitor.queue-capacity:1000}") int queueCapacity,
+                        @Value("${media.janitor.orphan-grace:1h}") Duration orphanGrace,
+                        @Value("${media.janitor.scan-batch-size:500}") int scanBatchSize,
+                        @Value("${media.janitor.scan-pause-ms:50}") long scanPauseMs,
+                        @Value("${media.janitor.legacy-url-prefixes:http://localhost:8080/uploads/}") String[] legacyUrlPrefixes) {
+        this.mediaRepo = mediaRepo;
+        this.blogRepo = blogRepo;
+        this.storage = storage;
+        this.jdbcTemplate = jdbcTemplate;
+        // Unlinking runs on the janitor thread, so its short pin transaction never holds a request's
+        // connection.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.orphanGrace = orphanGrace;
+        this.scanBatchSize = Math.max(scanBatchSize, 1);
+        this.scanPauseMs = scanPauseMs;
+        this.legacyUrlPrefixes = legacyUrlPrefixes;
+        this.scannedCounter = Counter.builder("media.gc.scanned").register(meterRegistry);
+        this.deletedCounter = Counter.builder("media.gc.deleted").register(meterRegistry);
+        this.reclaimedBytesCounter = Counter.builder("media.gc.reclaimed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("media.gc.duration").register(meterRegistry);
+        this.droppedCounter = Counter.builder("media.gc.release.dropped").register(meterRegistry);
+        for (int i = 0; i < hashLocks.length; i++) {
+            hashLocks[i] = new Object();
+        }
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                (runnable) -> {
+                    Thread thread = new Thread(runnable, "media-janitor-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Dropped releases only delay reclaiming: the orphan sweep finds the bytes later.
+                (runnable, pool) -> droppedCounter.increment());
+    }
+
+    // Stores a freshly ingested file under its content-addressed name; the storage drops it when
+    // identical bytes are already there. The hash stays pinned until the new Media row is settled so
+    // a concurrent delete of the last existing reference cannot unlink the file underneath it. The
+    // in-memory pin covers this node and is taken under the hash lock, so an unlink already running
+    // here finishes first; the bytes are then stored outside the lock. The durable pin is written in
+    // the caller's transaction, on the connection it already holds: an unlink on another node blocks
+    // on the pin row until that transaction ends, and a committed pin outlives it by the orphan grace.
+    public void storePinned(String hash, String storedName, Path staged, String contentType) throws IOException {
+        synchronized (lockFor(hash)) {
+            pendingHashes.merge(hash, 1, Integer::sum);
+        }
+        try {
+            pinDurably(hash);
+            storage.store(storedName, staged, contentType);
+        } catch (IOException | RuntimeException ex) {
+            unpin(hash);
+            throw ex;
+        }
+    }
+
+    public void settle(List<String> storedNames, boolean failed) {
+        if (storedNames.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    settleNow(storedNames, status != STATUS_COMMITTED);
+                }
+            });
+            return;
+        }
+        settleNow(storedNames, failed);
+    }
+
+    // Unlinking never runs on the request thread and only after the rows are really gone; when the
+    // queue is full the release is dropped and left to the orphan sweep.
+    public void releaseAfterCommit(List<String> urls) {
+        if (urls.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> urls.forEach(MediaJanitor.this::release));
+                }
+            });
+            return;
+        }
+        executor.execute(() -> urls.forEach(this::release));
+    }
+
+    // Reclaims bytes no row points at: uploads whose request died between storing the file and
+    // committing its row, and files dropped when a blog's media link is replaced. The listing is
+    // walked in bounded batches, each checked with bulk IN lookups, with a pause between batches
+    // so the scan never saturates the disk or the database.
+    @Scheduled(fixedDelayString = "${media.janitor.sweep-interval-ms:21600000}",
+            initialDelayString = "${media.janitor.initial-delay-ms:300000}")
+    public void sweepOrphans() {
+        Timer.Sample sample = Timer.start();
+        Instant cutoff = Instant.now().minus(orphanGrace);
+        long removedBefore = (long) deletedCounter.count();
+        try {
+            jdbcTemplate.update(PURGE_PINS_SQL, Timestamp.from(Instant.now()));
+            storage.purgeStaging(cutoff);
+            storage.scan(scanBatchSize, (batch) -> {
+                collectBatch(batch, cutoff);
+                pause();
+            });
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Orphaned media sweep failed", ex);
+        } finally {
+            sample.stop(sweepTimer);
+        }
+        long removed = (long) deletedCounter.count() - removedBefore;
+        if (removed > 0) {
+            log.info("Removed {} orphaned media objects", removed);
+        }
+    }
+
+    private void collectBatch(List<StoredObject> batch, Instant cutoff) {
+        scannedCounter.increment(batch.size());
+        List<StoredObject> candidates = batch.stream()
+                .filter((object) -> object.lastModified().isBefore(cutoff))
+                .toList();
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> hashes = new HashSet<>();
+        Set<String> urls = new HashSet<>();
+        for (StoredObject object : candidates) {
+            Matcher matcher = CONTENT_ADDRESSED_KEY.matcher(object.key());
+            if (matcher.matches()) {
+                hashes.add(matcher.group(1));
+            }
+            urls.addAll(urlsFor(object.key()));
+        }
+        Set<String> liveHashes = hashes.isEmpty()
+                ? Set.of()
+                : new HashSet<>(mediaRepo.findExistingContentHashes(hashes));
+        Set<String> liveUrls = new HashSet<>(mediaRepo.findExistingUrls(urls));
+        liveUrls.addAll(blogRepo.findReferencedMedia(urls));
+
+        for (StoredObject object : candidates) {
+            if (urlsFor(object.key()).stream().anyMatch(liveUrls::contains)) {
+                continue;
+            }
+            Matcher matcher = CONTENT_ADDRESSED_KEY.matcher(object.key());
+            boolean deleted;
+            if (matcher.matches()) {
+                // The bulk lookup ran without the hash lock, so re-check before unlinking.
+                deleted = !liveHashes.contains(matcher.group(1)) && deleteIfUnreferenced(matcher.group(1), object.key());
+            } else {
+                deleted = delete(object.key());
+            }
+            if (deleted) {
+                deletedCounter.increment();
+                reclaimedBytesCounter.increment(object.size());
+            }
+        }
+    }
+
+    private List<String> urlsFor(String key) {
+        List<String> urls = new ArrayList<>(legacyUrlPrefixes.length + 1);
+        urls.add(storage.publicUrl(key));
+        for (String prefix : legacyUrlPrefixes) {
+            urls.add(prefix + key);
+        }
+        return urls;
+    }
+
+    private void pause() {
+        if (scanPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(scanPauseMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void settleNow(List<String> storedNames, boolean failed) {
+        for (String storedName : storedNames) {
+            String hash = hashOf(storedName);
+            unpin(hash);
+            if (failed) {
+                executor.execute(() -> releaseHash(hash, storedName));
+            }
+        }
+    }
+
+    private void release(String url) {
+        String key = extractKey(url);
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        Matcher matcher = CONTENT_ADDRESSED_KEY.matcher(key);
+        if (matcher.matches()) {
+            releaseHash(matcher.group(1), key);
+        } else {
+            // Files stored before content addressing belong to exactly one row.
+            delete(key);
+        }
+    }
+
+    private void releaseHash(String hash, String storedName) {
+        deleteIfUnreferenced(hash, storedName, true);
+    }
+
+    // The pin row is created if missing and locked for the whole check-and-unlink, so an upload on
+    // any node either pins first and the object is kept, or waits and then finds it gone and stores
+    // it again. A failed upload's own pin also keeps its bytes; the sweep reclaims them once it expires.
+    private boolean deleteIfUnreferenced(String hash, String key) {
+        return deleteIfUnreferenced(hash, key, false);
+    }
+
+    private boolean deleteIfUnreferenced(String hash, String key, boolean withDerivatives) {
+        synchronized (lockFor(hash)) {
+            if (pendingHashes.containsKey(hash)) {
+                return false;
+            }
+            return Boolean.TRUE.equals(transactionTemplate.execute((status) -> {
+                jdbcTemplate.update(INSERT_PIN_SQL, hash, Timestamp.from(Instant.EPOCH));
+                Timestamp pinnedUntil = jdbcTemplate.queryForObject(LOCK_PIN_SQL, Timestamp.class, hash);
+                if (pinnedUntil != null && pinnedUntil.toInstant().isAfter(Instant.now())) {
+                    return false;
+                }
+                if (mediaRepo.existsByContentHash(hash) || !delete(key)) {
+                    jdbcTemplate.update(DELETE_PIN_SQL, hash);
+                    return false;
+                }
+                if (withDerivatives) {
+                    for (int width : MediaDerivativeService.WIDTHS) {
+                        delete(MediaDerivativeService.derivativeName(key, width));
+                    }
+                }
+                jdbcTemplate.update(DELETE_PIN_SQL, hash);
+                return true;
+            }));
+        }
+    }
+
+    private void pinDurably(String hash) {
+        Timestamp until = Timestamp.from(Instant.now().plus(orphanGrace));
+        jdbcTemplate.update(INSERT_PIN_SQL, hash, until);
+        // Waits behind an unlink holding the row, then extends an expired or placeholder pin.
+        jdbcTemplate.update(EXTEND_PIN_SQL, until, hash, until);
+    }
+
+    private void unpin(String hash) {
+        pendingHashes.computeIfPresent(hash, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private Object lockFor(String hash) {
+        return hashLocks[Math.floorMod(hash.hashCode(), hashLocks.length)];
+    }
+
+    private String hashOf(String storedName) {
+        int dot = storedName.indexOf('.');
+        return dot < 0 ? storedName : storedName.substring(0, dot);
+    }
+
+    private boolean delete(String key) {
+        try {
+            storage.delete(key);
+            return true;
+        } catch (IOException | IllegalArgumentException ex) {
+            log.warn("Failed to delete stored media {}", key, ex);
+            return false;
+        }
+    }
+
+    private String extractKey(String url) {
+        try {
+            String path = new URI(url).getPath();
+            if (path == null) {
+                return null;
+            }
+            return Paths.get(path).getFileName().toString();
+        } catch (URISyntaxException | RuntimeException ignored) {
+            int slash = url.lastIndexOf('/');
+            if (slash < 0 || slash == url.length() - 1) {
+                return null;
+            }
+            return url.substring(slash + 1);
+        }
+    }
+}
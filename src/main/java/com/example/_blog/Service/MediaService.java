@@ -2,17 +2,22 @@ package com.example._blog.Service;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.Locale;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -26,21 +31,34 @@ import com.example._blog.Entity.Blog;
 import com.example._blog.Entity.Media;
 import com.example._blog.Repositories.BlogRepo;
 import com.example._blog.Repositories.MediaRepo;
+import com.example._blog.Storage.MediaStorage;
 
 @Service
 public class MediaService {
     private static final int MAX_FILES = 5;
     private static final long MAX_TOTAL_BYTES = 10L * 1024 * 1024;
-    private static final Path UPLOAD_DIR = Paths.get("uploads");
     private static final Set<String> ALLOWED_MIME_TYPES = Set.of("image/jpeg", "image/jpg", "image/png", "video/mp4");
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "mp4");
 
+    private static final int INGEST_CHUNK_BYTES = 64 * 1024;
+    // Keeps each IN list far below PostgreSQL's 32767 bind parameters and small enough to plan well.
+    private static final int BLOG_ID_CHUNK = 1000;
+
     private final MediaRepo mediaRepo;
     private final BlogRepo blogRepo;
+    private final MediaDerivativeService derivativeService;
+    private final MediaStorage storage;
+    private final MediaJanitor janitor;
+    private final BlogResponseCache responseCache;
 
-    public MediaService(MediaRepo mediaRepo, BlogRepo blogRepo) {
+    public MediaService(MediaRepo mediaRepo, BlogRepo blogRepo, MediaDerivativeService derivativeService,
+                        MediaStorage storage, MediaJanitor janitor, BlogResponseCache responseCache) {
         this.mediaRepo = mediaRepo;
         this.blogRepo = blogRepo;
+        this.derivativeService = derivativeService;
+        this.storage = storage;
+        this.janitor = janitor;
+        this.responseCache = responseCache;
     }
 
     public List<MediaResponse> upload(Long blogId, List<MultipartFile> files) {
@@ -61,53 +79,187 @@ public class MediaService {
             return List.of();
         }
 
+        List<Path> stagedPaths = new ArrayList<>();
+        List<String> placedNames = new ArrayList<>();
+        long remainingBytes = MAX_TOTAL_BYTES;
         try {
-            Files.createDirectories(UPLOAD_DIR);
+            List<IngestedFile> ingestedFiles = new ArrayList<>();
+            for (MultipartFile file : normalized) {
+                Path staging = storage.newStagingPath();
+                stagedPaths.add(staging);
+                IngestedFile ingested = ingest(file, staging, remainingBytes);
+                remainingBytes -= ingested.size();
+                ingestedFiles.add(ingested);
+            }
+            List<Media> saved = persist(blog, ingestedFiles, placedNames);
+            janitor.settle(placedNames, false);
+            return saved;
         } catch (IOException ex) {
-            throw new ResponseStatusException(BAD_REQUEST, "Failed to create upload folder");
+            janitor.settle(placedNames, true);
+            throw new ResponseStatusException(BAD_REQUEST, "Failed to save file");
+        } catch (RuntimeException ex) {
+            janitor.settle(placedNames, true);
+            throw ex;
+        } finally {
+            cleanupFiles(stagedPaths);
         }
+    }
 
-        List<Path> storedPaths = new ArrayList<>();
-        List<Media> saved = new ArrayList<>();
+    // Turns a fully received resumable upload into a Media row. The staging file is read once to
+    // hash it and is consumed by the storage backend.
+    public MediaResponse attachStaged(Long blogId, Path staged, String filename, String declaredType) {
+        Blog blog = blogRepo.findById(blogId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Blog not found"));
+        List<String> placedNames = new ArrayList<>();
         try {
-            for (MultipartFile file : normalized) {
-                String extension = getExtension(file.getOriginalFilename());
-                if (extension == null) {
-                    throw new ResponseStatusException(BAD_REQUEST, "Only .jpg, .png, and .mp4 files are allowed");
-                }
-                String detectedMimeType = detectMimeType(file);
-                if (detectedMimeType == null) {
-                    throw new ResponseStatusException(BAD_REQUEST, "Invalid file content. Only real .jpg, .png, and .mp4 files are allowed");
-                }
-                String safeName = UUID.randomUUID() + "." + extension;
-                Path target = UPLOAD_DIR.resolve(safeName);
-                Files.copy(file.getInputStream(), target);
-                storedPaths.add(target);
-                String url = "http://localhost:8080/uploads/" + safeName;
-                Media media = Media.builder()
-                        .blog(blog)
-                        .url(url)
-                        .mediaType(detectedMimeType)
-                        .createdAt(Instant.now())
-                        .build();
-                saved.add(mediaRepo.save(media));
-            }
-            return saved;
+            IngestedFile ingested = digestStaged(staged, filename, declaredType);
+            Media media = persist(blog, List.of(ingested), placedNames).get(0);
+            janitor.settle(placedNames, false);
+            return toResponse(media);
         } catch (IOException ex) {
-            cleanupFiles(storedPaths);
+            janitor.settle(placedNames, true);
             throw new ResponseStatusException(BAD_REQUEST, "Failed to save file");
         } catch (RuntimeException ex) {
-            cleanupFiles(storedPaths);
+            janitor.settle(placedNames, true);
             throw ex;
         }
     }
 
+    // Stores every file first, then writes all rows in one batched insert.
+    private List<Media> persist(Blog blog, List<IngestedFile> ingestedFiles, List<String> placedNames)
+            throws IOException {
+        List<Media> media = new ArrayList<>(ingestedFiles.size());
+        for (IngestedFile ingested : ingestedFiles) {
+            String storedName = ingested.sha256() + "." + extensionFor(ingested.mimeType());
+            janitor.storePinned(ingested.sha256(), storedName, ingested.path(), ingested.mimeType());
+            placedNames.add(storedName);
+            media.add(Media.builder()
+                    .blog(blog)
+                    .url(storage.publicUrl(storedName))
+                    .mediaType(ingested.mimeType())
+                    .contentHash(ingested.sha256())
+                    .createdAt(Instant.now())
+                    .build());
+        }
+
+        // Identical bytes uploaded earlier already have their derivatives stored.
+        List<String> imageHashes = media.stream()
+                .filter((item) -> MediaDerivativeService.supports(item.getMediaType()))
+                .map(Media::getContentHash)
+                .toList();
+        Map<String, Media> processed = new HashMap<>();
+        if (!imageHashes.isEmpty()) {
+            for (Media existing : mediaRepo.findByContentHashInAndVariantWidthsIsNotNull(imageHashes)) {
+                processed.putIfAbsent(existing.getContentHash(), existing);
+            }
+        }
+        Set<String> pendingDerivatives = new HashSet<>();
+        for (Media item : media) {
+            Media existing = processed.get(item.getContentHash());
+            if (existing != null) {
+                item.setWidth(existing.getWidth());
+                item.setHeight(existing.getHeight());
+                item.setVariantWidths(existing.getVariantWidths());
+                item.setPlaceholder(existing.getPlaceholder());
+            } else if (MediaDerivativeService.supports(item.getMediaType())) {
+                pendingDerivatives.add(item.getContentHash());
+            }
+        }
+
+        List<Media> saved = mediaRepo.saveAll(media);
+        responseCache.evict(blog.getIdBlog());
+        for (int i = 0; i < saved.size(); i++) {
+            Media item = saved.get(i);
+            if (pendingDerivatives.remove(item.getContentHash())) {
+                derivativeService.submit(item.getContentHash(), placedNames.get(i));
+            }
+        }
+        return saved;
+    }
+
+    // Reads the upload exactly once: the first chunk is sniffed before anything touches the disk,
+    // then every chunk is hashed and written to the target through a FileChannel.
+    IngestedFile ingest(MultipartFile file, Path target, long byteBudget) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[INGEST_CHUNK_BYTES];
+        try (InputStream in = file.getInputStream()) {
+            int read = in.readNBytes(buffer, 0, buffer.length);
+            String detectedMimeType = sniff(file.getOriginalFilename(), file.getContentType(), buffer, read);
+
+            long size = 0L;
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                while (read > 0) {
+                    size += read;
+                    if (size > byteBudget) {
+                        throw new ResponseStatusException(BAD_REQUEST, "Total media size exceeds 10MB");
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                    read = in.read(buffer);
+                }
+            }
+            return new IngestedFile(target, detectedMimeType, HexFormat.of().formatHex(digest.digest()), size);
+        }
+    }
+
+    private IngestedFile digestStaged(Path staged, String filename, String declaredType) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[INGEST_CHUNK_BYTES];
+        try (InputStream in = Files.newInputStream(staged)) {
+            int read = in.readNBytes(buffer, 0, buffer.length);
+            String detectedMimeType = sniff(filename, declaredType, buffer, read);
+            long size = 0L;
+            while (read > 0) {
+                size += read;
+                digest.update(buffer, 0, read);
+                read = in.read(buffer);
+            }
+            return new IngestedFile(staged, detectedMimeType, HexFormat.of().formatHex(digest.digest()), size);
+        }
+    }
+
+    // Checks the leading bytes of an upload against its name and declared type and returns the real type.
+    String sniff(String filename, String declaredType, byte[] header, int length) {
+        String extension = getExtension(filename);
+        String declaredMimeType = normalizeMimeType(declaredType);
+        String detectedMimeType = detectMimeType(header, length);
+        if (detectedMimeType == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid file content. Only real .jpg, .png, and .mp4 files are allowed");
+        }
+        boolean extensionMatches = extensionMatchesMime(extension, detectedMimeType);
+        boolean mimeMatches = declaredMimeType.isBlank() || mimeMatchesDetected(declaredMimeType, detectedMimeType);
+        if (!extensionMatches || !mimeMatches) {
+            throw new ResponseStatusException(BAD_REQUEST, "Only .jpg, .png, and .mp4 files are allowed");
+        }
+        return detectedMimeType;
+    }
+
     public List<MediaResponse> getByBlog(Long blogId) {
         return mediaRepo.findByBlogIdBlog(blogId).stream()
                 .map(this::toResponse)
                 .toList();
     }
 
+    public Map<Long, List<MediaResponse>> getByBlogIds(List<Long> blogIds) {
+        if (blogIds == null || blogIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<MediaResponse>> grouped = new HashMap<>();
+        for (int start = 0; start < blogIds.size(); start += BLOG_ID_CHUNK) {
+            List<Long> chunk = blogIds.subList(start, Math.min(start + BLOG_ID_CHUNK, blogIds.size()));
+            for (MediaRepo.MediaRow row : mediaRepo.findRowsByBlogIds(chunk)) {
+                MediaResponse media = toResponse(row.getId(), row.getBlogId(), row.getUrl(), row.getMediaType(),
+                        row.getCreatedAt(), row.getWidth(), row.getHeight(), row.getVariantWidths(),
+                        row.getPlaceholder());
+                grouped.computeIfAbsent(media.blogId(), (key) -> new ArrayList<>()).add(media);
+            }
+        }
+        return grouped;
+    }
+
     public MediaResponse getFirstByBlog(Long blogId) {
         Media media = mediaRepo.findFirstByBlogIdBlogOrderByIdAsc(blogId);
         if (media == null) {
@@ -117,21 +269,42 @@ public class MediaService {
     }
 
     public void deleteByBlog(Long blogId) {
-        List<Media> mediaList = mediaRepo.findByBlogIdBlog(blogId);
-        if (mediaList.isEmpty()) {
+        List<String> urls = mediaRepo.findUrlsByBlogId(blogId);
+        if (urls.isEmpty()) {
             return;
         }
-        mediaRepo.deleteAll(mediaList);
-        for (Media media : mediaList) {
-            deleteStoredFile(media.getUrl());
-        }
+        mediaRepo.deleteByBlogId(blogId);
+        responseCache.evict(blogId);
+        janitor.releaseAfterCommit(urls);
     }
 
     public void deleteMedia(Long mediaId) {
         Media media = mediaRepo.findById(mediaId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Media not found"));
         mediaRepo.delete(media);
-        deleteStoredFile(media.getUrl());
+        responseCache.evict(media.getBlog() == null ? null : media.getBlog().getIdBlog());
+        janitor.releaseAfterCommit(List.of(media.getUrl()));
+    }
+
+    public Path resolveStoredFile(String filename) {
+        if (filename == null || !filename.matches("[A-Za-z0-9_-]+\\.[A-Za-z0-9]+")) {
+            throw new ResponseStatusException(NOT_FOUND, "Media not found");
+        }
+        return storage.localFile(filename)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Media not found"));
+    }
+
+    public String contentTypeFor(String filename) {
+        String extension = getExtension(filename);
+        if (extension == null) {
+            return "application/octet-stream";
+        }
+        return switch (extension) {
+            case "jpg", "jpeg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "mp4" -> "video/mp4";
+            default -> "application/octet-stream";
+        };
     }
 
     public List<MultipartFile> normalizeOptional(List<MultipartFile> files) {
@@ -179,61 +352,64 @@ public class MediaService {
         return nonEmpty;
     }
 
-    private void validateFileType(MultipartFile file) {
-        String contentType = file.getContentType();
-        String extension = getExtension(file.getOriginalFilename());
+    // Metadata-only checks; the content itself is sniffed once while it is being stored.
+    void validateFileType(MultipartFile file) {
+        validateFileType(file.getOriginalFilename(), file.getContentType());
+    }
 
+    void validateFileType(String filename, String contentType) {
+        String extension = getExtension(filename);
         if (extension == null) {
             throw new ResponseStatusException(BAD_REQUEST, "Only .jpg, .png, and .mp4 files are allowed");
         }
 
-        String normalizedMimeType = contentType == null
-                ? ""
-                : contentType.toLowerCase(Locale.ROOT).split(";", 2)[0].trim();
-        String detectedMimeType = detectMimeType(file);
-        if (detectedMimeType == null) {
-            throw new ResponseStatusException(BAD_REQUEST, "Invalid file content. Only real .jpg, .png, and .mp4 files are allowed");
-        }
-
+        String normalizedMimeType = normalizeMimeType(contentType);
         boolean allowedMimeType = normalizedMimeType.isBlank() || ALLOWED_MIME_TYPES.contains(normalizedMimeType);
         boolean allowedExtension = ALLOWED_EXTENSIONS.contains(extension);
-        boolean extensionMatches = extensionMatchesMime(extension, detectedMimeType);
-        boolean mimeMatches = normalizedMimeType.isBlank() || mimeMatchesDetected(normalizedMimeType, detectedMimeType);
-        if (!allowedMimeType || !allowedExtension || !extensionMatches || !mimeMatches) {
+        if (!allowedMimeType || !allowedExtension) {
             throw new ResponseStatusException(BAD_REQUEST, "Only .jpg, .png, and .mp4 files are allowed");
         }
     }
 
-    private String detectMimeType(MultipartFile file) {
-        try (InputStream in = file.getInputStream()) {
-            byte[] header = in.readNBytes(32);
-            if (header.length >= 3
-                    && (header[0] & 0xFF) == 0xFF
-                    && (header[1] & 0xFF) == 0xD8
-                    && (header[2] & 0xFF) == 0xFF) {
-                return "image/jpeg";
-            }
-            if (header.length >= 8
-                    && (header[0] & 0xFF) == 0x89
-                    && header[1] == 0x50
-                    && header[2] == 0x4E
-                    && header[3] == 0x47
-                    && header[4] == 0x0D
-                    && header[5] == 0x0A
-                    && header[6] == 0x1A
-                    && header[7] == 0x0A) {
-                return "image/png";
-            }
-            if (header.length >= 12
-                    && header[4] == 0x66
-                    && header[5] == 0x74
-                    && header[6] == 0x79
-                    && header[7] == 0x70) {
-                return "video/mp4";
-            }
-            return null;
-        } catch (IOException ex) {
-            throw new ResponseStatusException(BAD_REQUEST, "Failed to read uploaded file");
+    String detectMimeType(byte[] header, int length) {
+        if (length >= 3
+                && (header[0] & 0xFF) == 0xFF
+                && (header[1] & 0xFF) == 0xD8
+                && (header[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 8
+                && (header[0] & 0xFF) == 0x89
+                && header[1] == 0x50
+                && header[2] == 0x4E
+                && header[3] == 0x47
+                && header[4] == 0x0D
+                && header[5] == 0x0A
+                && header[6] == 0x1A
+                && header[7] == 0x0A) {
+            return "image/png";
+        }
+        if (length >= 12
+                && header[4] == 0x66
+                && header[5] == 0x74
+                && header[6] == 0x79
+                && header[7] == 0x70) {
+            return "video/mp4";
+        }
+        return null;
+    }
+
+    private String normalizeMimeType(String contentType) {
+        return contentType == null
+                ? ""
+                : contentType.toLowerCase(Locale.ROOT).split(";", 2)[0].trim();
+    }
+
+    private MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
         }
     }
 
@@ -264,8 +440,16 @@ public class MediaService {
         return filename.substring(dot + 1).toLowerCase(Locale.ROOT);
     }
 
-    private void cleanupFiles(List<Path> storedPaths) {
-        for (Path path : storedPaths) {
+    private String extensionFor(String mimeType) {
+        return switch (mimeType) {
+            case "image/jpeg" -> "jpg";
+            case "image/png" -> "png";
+            default -> "mp4";
+        };
+    }
+
+    private void cleanupFiles(List<Path> paths) {
+        for (Path path : paths) {
             try {
                 Files.deleteIfExists(path);
             } catch (IOException ignored) {
@@ -274,49 +458,40 @@ public class MediaService {
         }
     }
 
-    private void deleteStoredFile(String url) {
-        if (url == null || url.isBlank()) {
-            return;
-        }
-        String filename = extractFilename(url);
-        if (filename == null || filename.isBlank()) {
-            return;
-        }
-        Path uploadRoot = UPLOAD_DIR.toAbsolutePath().normalize();
-        Path target = uploadRoot.resolve(filename).normalize();
-        if (!target.startsWith(uploadRoot)) {
-            return;
-        }
-        try {
-            Files.deleteIfExists(target);
-        } catch (IOException ignored) {
-            // Best-effort cleanup.
-        }
-    }
-
-    private String extractFilename(String url) {
-        try {
-            String path = new URI(url).getPath();
-            if (path == null) {
-                return null;
-            }
-            return Paths.get(path).getFileName().toString();
-        } catch (URISyntaxException ignored) {
-            int slash = url.lastIndexOf('/');
-            if (slash < 0 || slash == url.length() - 1) {
-                return null;
-            }
-            return url.substring(slash + 1);
-        }
-    }
-
     private MediaResponse toResponse(Media media) {
-        return new MediaResponse(
+        return toResponse(
                 media.getId(),
                 media.getBlog() == null ? null : media.getBlog().getIdBlog(),
                 media.getUrl(),
                 media.getMediaType(),
-                media.getCreatedAt()
+                media.getCreatedAt(),
+                media.getWidth(),
+                media.getHeight(),
+                media.getVariantWidths(),
+                media.getPlaceholder()
         );
     }
+
+    private MediaResponse toResponse(Long id, Long blogId, String url, String mediaType, Instant createdAt,
+                                     Integer width, Integer height, String variantWidths, String placeholder) {
+        List<MediaResponse.Variant> variants = new ArrayList<>();
+        int slash = url == null ? -1 : url.lastIndexOf('/');
+        if (slash >= 0) {
+            String base = url.substring(0, slash + 1);
+            String storedName = url.substring(slash + 1);
+            for (int variantWidth : MediaDerivativeService.parseWidths(variantWidths)) {
+                variants.add(new MediaResponse.Variant(variantWidth,
+                        base + MediaDerivativeService.derivativeName(storedName, variantWidth)));
+            }
+        }
+        // Cards get the smallest generated bucket; images still being processed fall back to the original.
+        String thumbnailUrl = null;
+        if (mediaType != null && mediaType.startsWith("image/")) {
+            thumbnailUrl = variants.isEmpty() ? url : variants.get(0).url();
+        }
+        return new MediaResponse(id, blogId, url, mediaType, createdAt, width, height, thumbnailUrl, placeholder,
+                variants);
+    }
+
+    record IngestedFile(Path path, String mimeType, String sha256, long size) {}
 }
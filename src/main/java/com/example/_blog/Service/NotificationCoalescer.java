@@ -0,0 +1,326 @@
+package com.example._blog.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example._blog.Entity.enums.NotificationType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// LIKE and COMMENT events are buffered per (recipient, blog, type) and written in batches: each
+// one either grows the recipient's latest unread row for that post, if it is still inside the
+// window, or starts a new row. A merge never changes the unread count, so only new rows bump it.
+// actor_count is exact: each row's distinct actors are kept in notification_actors, so an actor who
+// comes back after dropping out of recent_actor_ids is not counted again.
+// Events still in the buffer are lost if the process dies, which is acceptable for these two types.
+@Service
+public class NotificationCoalescer {
+    private static final Logger log = LoggerFactory.getLogger(NotificationCoalescer.class);
+    private static final int RECENT_ACTORS = 5;
+    private static final String INSERT_SQL =
+            "insert into notifications (recipient_user_id, actor_user_id, blog_id, type, message, is_read, created_at, "
+                    + "actor_count, recent_actor_ids) "
+                    + "select ?, ?, ?, ?, ?, false, ?, ?, ? "
+                    + "where exists (select 1 from blogs where id_blog = ?) and exists (select 1 from users where user_id = ?)";
+    private static final String UPDATE_SQL =
+            "update notifications set actor_user_id = ?, message = ?, created_at = ?, actor_count = ?, recent_actor_ids = ? "
+                    + "where id = ? and exists (select 1 from users where user_id = ?)";
+    private static final String INSERT_ACTOR_SQL =
+            "insert into notification_actors (notification_id, actor_user_id) values (?, ?) on conflict do nothing";
+    // The row just inserted is the key's newest unread one; flushes on this node are serialized.
+    private static final String INSERT_NEW_ROW_ACTOR_SQL =
+            "insert into notification_actors (notification_id, actor_user_id) "
+                    + "select id, ? from notifications where recipient_user_id = ? and blog_id = ? and type = ? "
+                    + "and is_read = false order by id desc limit 1 on conflict do nothing";
+    private static final String INCREMENT_UNREAD_SQL =
+            "update users set unread_notifications = unread_notifications + 1 where user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationStreamService notificationStreamService;
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final Counter eventsCounter;
+    private final Counter insertedCounter;
+    private final Counter mergedCounter;
+    private final Counter failedCounter;
+
+    public NotificationCoalescer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 UnreadNotificationCounter unreadCounter,
+                                 NotificationStreamService notificationStreamService, MeterRegistry meterRegistry,
+                                 @Value("${notifications.coalesce.window:1h}") Duration window,
+                                 @Value("${notifications.coalesce.batch-size:500}") int batchSize,
+                                 @Value("${notifications.coalesce.max-pending:50000}") int maxPending,
+                                 @Value("${notifications.coalesce.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Flushes may run from an afterCommit callback, where the finished transaction is still bound.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.unreadCounter = unreadCounter;
+        this.notificationStreamService = notificationStreamService;
+        this.window = window;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxPending = Math.max(maxPending, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.eventsCounter = Counter.builder("notifications.coalesce.events").register(meterRegistry);
+        this.insertedCounter = Counter.builder("notifications.coalesce.inserted").register(meterRegistry);
+        this.mergedCounter = Counter.builder("notifications.coalesce.merged").register(meterRegistry);
+        this.failedCounter = Counter.builder("notifications.coalesce.failed").register(meterRegistry);
+        Gauge.builder("notifications.coalesce.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public void add(Long recipientId, Long blogId, NotificationType type, Long actorId, String actorUserName) {
+        Key key = new Key(recipientId, blogId, type);
+        Runnable buffer = () -> {
+            pending.merge(key, Pending.of(actorId, actorUserName, Instant.now()), Pending::merge);
+            eventsCounter.increment();
+            // A full buffer makes the producing thread flush it, throttling producers instead of
+            // growing without bound.
+            if (pending.size() >= maxPending) {
+                flush();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only committed likes and comments are announced.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer.run();
+                }
+            });
+        } else {
+            buffer.run();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.coalesce.flush-ms:2000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Key, Pending>> drained = new ArrayList<>();
+        for (Key key : pending.keySet()) {
+            Pending events = pending.remove(key);
+            if (events != null) {
+                drained.add(Map.entry(key, events));
+            }
+        }
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            writeBatch(drained.subList(from, Math.min(from + batchSize, drained.size())));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void writeBatch(List<Map.Entry<Key, Pending>> batch) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                List<Long> incremented = transactionTemplate.execute((status) -> write(batch));
+                unreadCounter.evictAll(incremented);
+                for (Map.Entry<Key, Pending> entry : batch) {
+                    Key key = entry.getKey();
+                    notificationStreamService.publishLatest(key.recipientId(), key.blogId(), key.type());
+                }
+                return;
+            } catch (RuntimeException ex) {
+                if (attempt == maxAttempts) {
+                    failedCounter.increment(batch.size());
+                    log.error("Dropping {} coalesced notifications after {} attempts", batch.size(), attempt, ex);
+                    return;
+                }
+                try {
+                    Thread.sleep(200L * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Returns the recipients whose unread count went up.
+    private List<Long> write(List<Map.Entry<Key, Pending>> batch) {
+        Map<Key, Existing> mergeable = lockMergeable(batch);
+        Map<Long, Integer> newActors = recordActors(batch, mergeable);
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Map.Entry<Key, Pending>> insertEntries = new ArrayList<>();
+        for (Map.Entry<Key, Pending> entry : batch) {
+            Key key = entry.getKey();
+            Pending events = entry.getValue();
+            // Stamped at flush rather than when buffered, so stream replay by created_at sees the row.
+            Timestamp createdAt = Timestamp.from(Instant.now());
+            Existing existing = mergeable.get(key);
+            if (existing != null) {
+                int actorCount = existing.actorCount() + newActors.getOrDefault(existing.id(), 0);
+                List<Long> actorIds = recent(events.actorIds(), existing.actorIds());
+                updates.add(new Object[] {events.latestActorId(), message(key.type(), events.latestActorName(), actorCount),
+                        createdAt, actorCount, join(actorIds), existing.id(), events.latestActorId()});
+            } else {
+                int actorCount = events.actorIds().size();
+                inserts.add(new Object[] {key.recipientId(), events.latestActorId(), key.blogId(), key.type().name(),
+                        message(key.type(), events.latestActorName(), actorCount), createdAt,
+                        actorCount, join(recent(events.actorIds(), List.of())), key.blogId(), events.latestActorId()});
+                insertEntries.add(entry);
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            mergedCounter.increment(updates.size());
+        }
+        List<Long> incremented = new ArrayList<>();
+        if (!inserts.isEmpty()) {
+            // Rows whose blog or actor was deleted in the meantime are skipped by the insert itself.
+            int[] inserted = jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            List<Object[]> actors = new ArrayList<>();
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i] != 0) {
+                    Key key = insertEntries.get(i).getKey();
+                    incremented.add(key.recipientId());
+                    for (Long actorId : insertEntries.get(i).getValue().actorIds()) {
+                        actors.add(new Object[] {actorId, key.recipientId(), key.blogId(), key.type().name()});
+                    }
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_NEW_ROW_ACTOR_SQL, actors);
+            // Ascending ids, so this locks user rows in the same order as post fan-out.
+            List<Object[]> recipients = incremented.stream()
+                    .sorted()
+                    .map((recipientId) -> new Object[] {recipientId})
+                    .toList();
+            jdbcTemplate.batchUpdate(INCREMENT_UNREAD_SQL, recipients);
+            insertedCounter.increment(incremented.size());
+        }
+        return incremented;
+    }
+
+    // Adds the buffered actors to the rows they merge into; returns, per row, how many of them it
+    // had not seen before.
+    private Map<Long, Integer> recordActors(List<Map.Entry<Key, Pending>> batch, Map<Key, Existing> mergeable) {
+        List<Object[]> pairs = new ArrayList<>();
+        for (Map.Entry<Key, Pending> entry : batch) {
+            Existing existing = mergeable.get(entry.getKey());
+            if (existing != null) {
+                for (Long actorId : entry.getValue().actorIds()) {
+                    pairs.add(new Object[] {existing.id(), actorId});
+                }
+            }
+        }
+        Map<Long, Integer> added = new HashMap<>();
+        if (pairs.isEmpty()) {
+            return added;
+        }
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_ACTOR_SQL, pairs);
+        for (int i = 0; i < inserted.length; i++) {
+            if (inserted[i] != 0) {
+                added.merge((Long) pairs.get(i)[0], 1, Integer::sum);
+            }
+        }
+        return added;
+    }
+
+    // Locks each key's newest unread row inside the window, so a concurrent mark-read either
+    // lands first and the events start a new row, or waits until the merge has committed.
+    private Map<Key, Existing> lockMergeable(List<Map.Entry<Key, Pending>> batch) {
+        StringBuilder sql = new StringBuilder("select id, recipient_user_id, blog_id, type, actor_count, recent_actor_ids "
+                + "from notifications where is_read = false and created_at >= ? and (recipient_user_id, blog_id, type) in (");
+        List<Object> args = new ArrayList<>(batch.size() * 3 + 1);
+        args.add(Timestamp.from(Instant.now().minus(window)));
+        for (int i = 0; i < batch.size(); i++) {
+            Key key = batch.get(i).getKey();
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+            args.add(key.recipientId());
+            args.add(key.blogId());
+            args.add(key.type().name());
+        }
+        sql.append(") order by created_at desc, id desc for update");
+
+        Map<Key, Existing> mergeable = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), (rs) -> {
+            Key key = new Key(rs.getLong("recipient_user_id"), rs.getLong("blog_id"),
+                    NotificationType.valueOf(rs.getString("type")));
+            mergeable.putIfAbsent(key, new Existing(rs.getLong("id"), rs.getInt("actor_count"),
+                    split(rs.getString("recent_actor_ids"))));
+        }, args.toArray());
+        return mergeable;
+    }
+
+    private String message(NotificationType type, String latestActorName, int actorCount) {
+        String action = type == NotificationType.LIKE ? "liked your post." : "commented on your post.";
+        int others = actorCount - 1;
+        if (others <= 0) {
+            return latestActorName + " " + action;
+        }
+        return latestActorName + " and " + others + (others == 1 ? " other " : " others ") + action;
+    }
+
+    private static List<Long> recent(List<Long> newer, List<Long> older) {
+        return union(newer, older).stream().limit(RECENT_ACTORS).toList();
+    }
+
+    private static List<Long> union(List<Long> newer, List<Long> older) {
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(newer);
+        ids.addAll(older);
+        return List.copyOf(ids);
+    }
+
+    private static String join(List<Long> actorIds) {
+        return actorIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static List<Long> split(String actorIds) {
+        if (actorIds == null || actorIds.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(actorIds.split(",")).map(Long::valueOf).toList();
+    }
+
+    private record Key(Long recipientId, Long blogId, NotificationType type) {}
+
+    private record Existing(Long id, int actorCount, List<Long> actorIds) {}
+
+    // actorIds holds every distinct actor buffered since the last flush, newest first.
+    private record Pending(List<Long> actorIds, Long latestActorId, String latestActorName, Instant latestAt) {
+        static Pending of(Long actorId, String actorUserName, Instant at) {
+            return new Pending(List.of(actorId), actorId, actorUserName, at);
+        }
+
+        Pending merge(Pending next) {
+            Pending latest = next.latestAt().isBefore(latestAt) ? this : next;
+            Pending earlier = latest == this ? next : this;
+            return new Pending(union(latest.actorIds(), earlier.actorIds()), latest.latestActorId(),
+                    latest.latestActorName(), latest.latestAt());
+        }
+    }
+}
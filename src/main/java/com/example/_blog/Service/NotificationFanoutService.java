@@ -0,0 +1,173 @@
+package com.example._blog.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example._blog.Entity.enums.NotificationType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class NotificationFanoutService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanoutService.class);
+    private static final String SELECT_FOLLOWERS_SQL =
+            "select follower_id from follows where following_id = ? and follower_id > ? and follower_id <> ? "
+                    + "order by follower_id limit ?";
+    private static final String INSERT_NOTIFICATION_SQL =
+            "insert into notifications (recipient_user_id, actor_user_id, blog_id, type, message, is_read, created_at) "
+                    + "values (?, ?, ?, ?, ?, false, ?)";
+    private static final String INCREMENT_UNREAD_SQL =
+            "update users set unread_notifications = unread_notifications + 1 where user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationStreamService notificationStreamService;
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+    private final int maxAttempts;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    public NotificationFanoutService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     UnreadNotificationCounter unreadCounter,
+                                     NotificationStreamService notificationStreamService, MeterRegistry meterRegistry,
+                                     @Value("${notifications.fanout.pool-size:2}") int poolSize,
+                                     @Value("${notifications.fanout.queue-capacity:1000}") int queueCapacity,
+                                     @Value("${notifications.fanout.chunk-size:1000}") int chunkSize,
+                                     @Value("${notifications.fanout.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unreadCounter = unreadCounter;
+        this.notificationStreamService = notificationStreamService;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.writtenCounter = Counter.builder("notifications.fanout.written").register(meterRegistry);
+        this.failedCounter = Counter.builder("notifications.fanout.failed").register(meterRegistry);
+        this.droppedCounter = Counter.builder("notifications.fanout.dropped").register(meterRegistry);
+        AtomicInteger threadIds = new AtomicInteger();
+        // A full queue drops the job rather than running the whole follower fan-out on the author's
+        // request thread; the post itself is saved and still reaches followers' feeds.
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                (runnable) -> {
+                    Thread thread = new Thread(runnable, "notification-fanout-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    droppedCounter.increment();
+                    log.warn("Notification fan-out queue full, dropping a post fan-out");
+                });
+        Gauge.builder("notifications.fanout.queue.depth", executor, (pool) -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public void submitNewPost(Long blogId, Long authorUserId, String authorUserName) {
+        if (blogId == null || authorUserId == null) {
+            return;
+        }
+        PostFanout job = newPostJob(blogId, authorUserId, authorUserName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The blog row must be visible to the worker's connection before we reference it.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> run(job));
+                }
+            });
+        } else {
+            executor.execute(() -> run(job));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private PostFanout newPostJob(Long blogId, Long authorUserId, String authorUserName) {
+        return new PostFanout(blogId, authorUserId, authorUserName + " published a new post.");
+    }
+
+    private void run(PostFanout job) {
+        long lastFollowerId = 0L;
+        while (true) {
+            List<Long> followerIds = jdbcTemplate.queryForList(SELECT_FOLLOWERS_SQL, Long.class,
+                    job.authorUserId(), lastFollowerId, job.authorUserId(), chunkSize);
+            if (followerIds.isEmpty()) {
+                return;
+            }
+            if (!writeChunk(job, followerIds)) {
+                return;
+            }
+            if (followerIds.size() < chunkSize) {
+                return;
+            }
+            lastFollowerId = followerIds.get(followerIds.size() - 1);
+        }
+    }
+
+    private boolean writeChunk(PostFanout job, List<Long> followerIds) {
+        // Stamped per chunk, just before it commits, so stream replay (which reads by created_at)
+        // never finds a chunk dated long before the notifications a client has already received.
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(followerIds.size());
+        List<Object[]> recipients = new ArrayList<>(followerIds.size());
+        for (Long followerId : followerIds) {
+            rows.add(new Object[] {followerId, job.authorUserId(), job.blogId(), NotificationType.POST.name(),
+                    job.message(), createdAt});
+            recipients.add(new Object[] {followerId});
+        }
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                // Followers come in ascending id order, so concurrent fan-outs lock user rows in the same order.
+                transactionTemplate.executeWithoutResult((status) -> {
+                    jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, rows);
+                    jdbcTemplate.batchUpdate(INCREMENT_UNREAD_SQL, recipients);
+                });
+                unreadCounter.evictAll(followerIds);
+                notificationStreamService.publishNewPost(job.blogId(), followerIds);
+                writtenCounter.increment(rows.size());
+                return true;
+            } catch (RuntimeException ex) {
+                if (attempt == maxAttempts) {
+                    failedCounter.increment(rows.size());
+                    log.error("Giving up on post notification fan-out for blog {} after {} attempts",
+                            job.blogId(), attempt, ex);
+                    return false;
+                }
+                try {
+                    Thread.sleep(200L * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record PostFanout(Long blogId, Long authorUserId, String message) {}
+}
@@ -0,0 +1,119 @@
+package com.example._blog.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example._blog.Entity.enums.NotificationType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Ages out read notifications once they pass their type's retention, moving them to
+// notifications_archive. Unread rows are never touched, so the unread counters stay exact. Each
+// chunk is its own short statement with a pause in between, so the purge never holds long locks or
+// saturates the database.
+@Service
+public class NotificationRetentionJob {
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+    // Delete and archive in one statement, so a chunk is either moved whole or left in place.
+    private static final String PURGE_SQL =
+            "with moved as (delete from notifications where id in ("
+                    + "select id from notifications where type = ? and is_read = true and created_at < ? limit ?) "
+                    + "returning id, recipient_user_id, actor_user_id, blog_id, type, message, is_read, created_at, "
+                    + "actor_count, recent_actor_ids) "
+                    + "insert into notifications_archive (id, recipient_user_id, actor_user_id, blog_id, type, message, "
+                    + "is_read, created_at, actor_count, recent_actor_ids, archived_at) "
+                    + "select id, recipient_user_id, actor_user_id, blog_id, type, message, is_read, created_at, "
+                    + "actor_count, recent_actor_ids, current_timestamp from moved";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<NotificationType, Duration> retention = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Counter> purgedCounters = new EnumMap<>(NotificationType.class);
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long pauseMs;
+    private final Timer purgeTimer;
+
+    public NotificationRetentionJob(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                    @Value("${notifications.retention.like:30d}") Duration likeRetention,
+                                    @Value("${notifications.retention.comment:30d}") Duration commentRetention,
+                                    @Value("${notifications.retention.post:14d}") Duration postRetention,
+                                    @Value("${notifications.retention.follow:180d}") Duration followRetention,
+                                    @Value("${notifications.retention.chunk-size:1000}") int chunkSize,
+                                    @Value("${notifications.retention.max-chunks-per-run:500}") int maxChunksPerRun,
+                                    @Value("${notifications.retention.pause-ms:100}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        retention.put(NotificationType.LIKE, likeRetention);
+        retention.put(NotificationType.COMMENT, commentRetention);
+        retention.put(NotificationType.POST, postRetention);
+        retention.put(NotificationType.FOLLOW, followRetention);
+        for (NotificationType type : NotificationType.values()) {
+            purgedCounters.put(type, Counter.builder("notifications.retention.purged")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.maxChunksPerRun = Math.max(maxChunksPerRun, 1);
+        this.pauseMs = pauseMs;
+        this.purgeTimer = Timer.builder("notifications.retention.duration").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.retention.interval-ms:3600000}",
+            initialDelayString = "${notifications.retention.initial-delay-ms:600000}")
+    public void purge() {
+        Timer.Sample sample = Timer.start();
+        long purged = 0L;
+        // The run's budget is split evenly between types, so a backlog of one type cannot starve the
+        // others; whatever is left over is picked up next time.
+        int chunksPerType = Math.max(maxChunksPerRun / retention.size(), 1);
+        try {
+            for (Map.Entry<NotificationType, Duration> entry : retention.entrySet()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                Timestamp cutoff = Timestamp.from(Instant.now().minus(entry.getValue()));
+                Counter counter = purgedCounters.get(entry.getKey());
+                for (int chunk = 0; chunk < chunksPerType; chunk++) {
+                    int deleted = jdbcTemplate.update(PURGE_SQL, entry.getKey().name(), cutoff, chunkSize);
+                    counter.increment(deleted);
+                    purged += deleted;
+                    if (deleted < chunkSize || !pause()) {
+                        break;
+                    }
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Notification retention purge failed", ex);
+        } finally {
+            sample.stop(purgeTimer);
+        }
+        if (purged > 0) {
+            log.info("Archived {} expired read notifications", purged);
+        }
+    }
+
+    // Returns false when interrupted, which ends the run; the scheduler is shutting down.
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
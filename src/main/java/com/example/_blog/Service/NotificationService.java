@@ -1,9 +1,12 @@
 package com.example._blog.Service;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 
 import org.springframework.data.domain.PageRequest;
@@ -12,24 +15,36 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.example._blog.Dto.response.NotificationItem;
+import com.example._blog.Dto.response.NotificationPageResponse;
 import com.example._blog.Entity.Blog;
 import com.example._blog.Entity.Notification;
 import com.example._blog.Entity.User;
 import com.example._blog.Entity.enums.NotificationType;
-import com.example._blog.Repositories.FollowRepo;
 import com.example._blog.Repositories.NotificationRepo;
 
 @Service
 public class NotificationService {
-    private final NotificationRepo notificationRepo;
-    private final FollowRepo followRepo;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final String CURSOR_PREFIX = "n:";
 
-    public NotificationService(NotificationRepo notificationRepo, FollowRepo followRepo) {
+    private final NotificationRepo notificationRepo;
+    private final NotificationFanoutService notificationFanoutService;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationStreamService notificationStreamService;
+    private final NotificationCoalescer notificationCoalescer;
+
+    public NotificationService(NotificationRepo notificationRepo, NotificationFanoutService notificationFanoutService,
+                               UnreadNotificationCounter unreadCounter,
+                               NotificationStreamService notificationStreamService,
+                               NotificationCoalescer notificationCoalescer) {
         this.notificationRepo = notificationRepo;
-        this.followRepo = followRepo;
+        this.notificationFanoutService = notificationFanoutService;
+        this.unreadCounter = unreadCounter;
+        this.notificationStreamService = notificationStreamService;
+        this.notificationCoalescer = notificationCoalescer;
     }
 
-    @Transactional
     public void notifyLike(Blog blog, User actor) {
         if (blog == null || blog.getUser() == null || actor == null) {
             return;
@@ -40,19 +55,9 @@ public class NotificationService {
             return;
         }
 
-        Notification notification = Notification.builder()
-                .recipient(blog.getUser())
-                .actor(actor)
-                .blog(blog)
-                .type(NotificationType.LIKE)
-                .message(actor.getUserName() + " liked your post.")
-                .isRead(false)
-                .createdAt(Instant.now())
-                .build();
-        notificationRepo.save(notification);
+        notificationCoalescer.add(recipientId, blog.getIdBlog(), NotificationType.LIKE, actorId, actor.getUserName());
     }
 
-    @Transactional
     public void notifyComment(Blog blog, User actor) {
         if (blog == null || blog.getUser() == null || actor == null) {
             return;
@@ -63,16 +68,7 @@ public class NotificationService {
             return;
         }
 
-        Notification notification = Notification.builder()
-                .recipient(blog.getUser())
-                .actor(actor)
-                .blog(blog)
-                .type(NotificationType.COMMENT)
-                .message(actor.getUserName() + " commented on your post.")
-                .isRead(false)
-                .createdAt(Instant.now())
-                .build();
-        notificationRepo.save(notification);
+        notificationCoalescer.add(recipientId, blog.getIdBlog(), NotificationType.COMMENT, actorId, actor.getUserName());
     }
 
     @Transactional
@@ -94,74 +90,117 @@ public class NotificationService {
                 .createdAt(Instant.now())
                 .build();
         notificationRepo.save(notification);
+        unreadCounter.adjust(notification.getRecipient().getUserId(), 1);
+        push(notification);
     }
 
-    @Transactional
     public void notifyNewPost(Blog blog) {
         if (blog == null || blog.getUser() == null || blog.getUser().getUserId() == null) {
             return;
         }
-        Long authorUserId = blog.getUser().getUserId();
-        List<Long> followerIds = followRepo.findFollowerIdsByFollowingId(authorUserId);
-        if (followerIds == null || followerIds.isEmpty()) {
-            return;
-        }
-
-        List<Notification> notifications = new ArrayList<>();
-        for (Long followerId : followerIds) {
-            if (followerId == null || followerId.equals(authorUserId)) {
-                continue;
-            }
-            User recipient = User.builder().userId(followerId).build();
-            Notification notification = Notification.builder()
-                    .recipient(recipient)
-                    .actor(blog.getUser())
-                    .blog(blog)
-                    .type(NotificationType.POST)
-                    .message(blog.getUser().getUserName() + " published a new post.")
-                    .isRead(false)
-                    .createdAt(Instant.now())
-                    .build();
-            notifications.add(notification);
-        }
-        if (!notifications.isEmpty()) {
-            notificationRepo.saveAll(notifications);
-        }
+        notificationFanoutService.submitNewPost(blog.getIdBlog(), blog.getUser().getUserId(),
+                blog.getUser().getUserName());
     }
 
-    public List<Notification> getMyNotifications(Long userId, int limit) {
-        int safeLimit = Math.min(Math.max(limit, 1), 50);
-        Pageable pageable = PageRequest.of(0, safeLimit);
-        return notificationRepo.findByRecipientUserIdOrderByCreatedAtDesc(userId, pageable);
+    public NotificationPageResponse getMyNotifications(Long userId, String cursor, int limit) {
+        int safeLimit = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // Fetch one extra row so we know whether another page exists without a count query.
+        Pageable pageable = PageRequest.of(0, safeLimit + 1);
+        Cursor after = decodeCursor(cursor);
+        List<NotificationItem> items = after == null
+                ? notificationRepo.findItemsByRecipient(userId, pageable)
+                : notificationRepo.findItemsByRecipientBefore(userId, after.createdAt(), after.id(), pageable);
+        boolean hasMore = items.size() > safeLimit;
+        List<NotificationItem> page = hasMore ? items.subList(0, safeLimit) : items;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new NotificationPageResponse(page, nextCursor);
     }
 
     public long getUnreadCount(Long userId) {
-        return notificationRepo.countByRecipientUserIdAndIsReadFalse(userId);
+        return unreadCounter.get(userId);
     }
 
     @Transactional
     public void markRead(Long userId, Long notificationId) {
-        Notification notification = notificationRepo.findByIdAndRecipientUserId(notificationId, userId)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Notification not found"));
-        notification.setRead(true);
-        notificationRepo.save(notification);
+        setRead(userId, notificationId, true);
     }
 
     @Transactional
     public void markUnread(Long userId, Long notificationId) {
-        Notification notification = notificationRepo.findByIdAndRecipientUserId(notificationId, userId)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Notification not found"));
-        notification.setRead(false);
-        notificationRepo.save(notification);
+        setRead(userId, notificationId, false);
     }
 
     @Transactional
     public void markAllRead(Long userId) {
-        List<Notification> unread = notificationRepo.findByRecipientUserIdAndIsReadFalse(userId);
-        if (unread.isEmpty()) {
+        // One UPDATE over the (recipient, is_read) index instead of loading every unread row.
+        int updated = notificationRepo.markAllReadByRecipient(userId);
+        unreadCounter.adjust(userId, -updated);
+    }
+
+    // Deleting notifications must also take their unread ones off the recipients' badges.
+    @Transactional
+    public void deleteByBlog(Long blogId) {
+        adjustUnread(notificationRepo.countUnreadByRecipientForBlog(blogId));
+        notificationRepo.deleteByBlogIdBlog(blogId);
+    }
+
+    @Transactional
+    public void deleteByUser(Long userId) {
+        adjustUnread(notificationRepo.countUnreadByRecipientForActor(userId));
+        notificationRepo.deleteByRecipientUserIdOrActorUserId(userId, userId);
+    }
+
+    // Conditional UPDATE, as in markAllRead: the badge moves by the rows actually flipped.
+    private void setRead(Long userId, Long notificationId, boolean read) {
+        int updated = notificationRepo.setReadByIdAndRecipient(notificationId, userId, read);
+        if (updated == 0) {
+            if (!notificationRepo.existsByIdAndRecipientUserId(notificationId, userId)) {
+                throw new ResponseStatusException(NOT_FOUND, "Notification not found");
+            }
             return;
         }
-        unread.forEach((item) -> item.setRead(true));
-        notificationRepo.saveAll(unread);
+        unreadCounter.adjust(userId, read ? -updated : updated);
+    }
+
+    // Built from the entities in hand; the stream sends it once the row has committed.
+    private void push(Notification notification) {
+        User actor = notification.getActor();
+        Blog blog = notification.getBlog();
+        NotificationItem item = new NotificationItem(notification.getId(), notification.getType(),
+                notification.getMessage(), notification.isRead(), notification.getCreatedAt(),
+                actor.getUserId(), actor.getUserName(), blog == null ? null : blog.getIdBlog(),
+                notification.getActorCount());
+        notificationStreamService.publish(notification.getRecipient().getUserId(), item);
+    }
+
+    private void adjustUnread(List<Object[]> unreadByRecipient) {
+        for (Object[] row : unreadByRecipient) {
+            unreadCounter.adjust((Long) row[0], -((Long) row[1]));
+        }
     }
+
+    private String encodeCursor(NotificationItem item) {
+        byte[] raw = (CURSOR_PREFIX + item.createdAt() + "|" + item.id()).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (!raw.startsWith(CURSOR_PREFIX) || separator < 0) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid notification cursor");
+            }
+            Instant createdAt = Instant.parse(raw.substring(CURSOR_PREFIX.length(), separator));
+            Long id = Long.parseLong(raw.substring(separator + 1));
+            return new Cursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid notification cursor");
+        }
+    }
+
+    private record Cursor(Instant createdAt, Long id) {}
 }
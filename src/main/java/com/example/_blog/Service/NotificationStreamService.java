@@ -0,0 +1,257 @@
+package com.example._blog.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example._blog.Dto.response.NotificationItem;
+import com.example._blog.Dto.response.UnreadCountResponse;
+import com.example._blog.Entity.enums.NotificationType;
+import com.example._blog.Repositories.NotificationRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Open notification streams per user. Emitters run on async servlet I/O, so an idle connection holds
+// no request thread; writes happen on a small pool after the notification row has committed.
+// The registry is in-process: each instance only pushes to the clients connected to it.
+@Service
+public class NotificationStreamService {
+    private static final String EVENT_ID_SEPARATOR = "|";
+
+    private final NotificationRepo notificationRepo;
+    private final UnreadNotificationCounter unreadCounter;
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final int maxPerUser;
+    private final int replayLimit;
+    private final Duration replaySlack;
+    private final Counter sentCounter;
+    private final Counter droppedCounter;
+
+    public NotificationStreamService(NotificationRepo notificationRepo, UnreadNotificationCounter unreadCounter,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${notifications.stream.timeout-ms:1800000}") long timeoutMs,
+                                     @Value("${notifications.stream.max-per-user:5}") int maxPerUser,
+                                     @Value("${notifications.stream.replay-limit:50}") int replayLimit,
+                                     @Value("${notifications.stream.replay-slack:60s}") Duration replaySlack,
+                                     @Value("${notifications.stream.pool-size:2}") int poolSize,
+                                     @Value("${notifications.stream.queue-capacity:10000}") int queueCapacity) {
+        this.notificationRepo = notificationRepo;
+        this.unreadCounter = unreadCounter;
+        this.timeoutMs = timeoutMs;
+        this.maxPerUser = Math.max(maxPerUser, 1);
+        this.replayLimit = Math.max(replayLimit, 1);
+        this.replaySlack = replaySlack;
+        this.sentCounter = Counter.builder("notifications.stream.sent").register(meterRegistry);
+        this.droppedCounter = Counter.builder("notifications.stream.dropped").register(meterRegistry);
+        AtomicInteger threadIds = new AtomicInteger();
+        // A push is only a hint: a dropped one is recovered by the client's next reconnect or fetch,
+        // so a full queue never makes the committing request wait on slow sockets.
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                (runnable) -> {
+                    Thread thread = new Thread(runnable, "notification-stream-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> droppedCounter.increment());
+        Gauge.builder("notifications.stream.connections", connections, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    // Registers before replaying, so a notification committed in between is sent twice rather than
+    // lost; clients de-duplicate by notification id. Event ids carry (createdAt, id) and replay goes by
+    // created_at: coalescing bumps it when a row grows, so merges made while the client was away are
+    // replayed too. The slack re-reads rows whose timestamp was taken shortly before they committed.
+    public SseEmitter open(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(userId, emitter);
+        emitter.onCompletion(() -> unregister(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError((ex) -> unregister(userId, emitter));
+
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            Instant lastSeenAt = parseEventId(lastEventId);
+            List<NotificationItem> missed = lastSeenAt == null
+                    ? List.of()
+                    : notificationRepo.findItemsByRecipientSince(userId, lastSeenAt.minus(replaySlack),
+                            PageRequest.of(0, replayLimit + 1));
+            if (lastSeenAt == null || missed.size() > replayLimit) {
+                // Unknown position or too far behind to replay; the client reloads its inbox instead.
+                send(userId, emitter, SseEmitter.event().name("reset").data("reset"));
+            } else {
+                for (NotificationItem item : missed) {
+                    send(userId, emitter, notificationEvent(item));
+                }
+            }
+        }
+        send(userId, emitter, unreadEvent(unreadCounter.get(userId)));
+        return emitter;
+    }
+
+    public void publish(Long recipientId, NotificationItem item) {
+        if (recipientId == null || !emitters.containsKey(recipientId)) {
+            return;
+        }
+        afterCommit(() -> executor.execute(() -> {
+            for (SseEmitter emitter : emittersOf(recipientId)) {
+                send(recipientId, emitter, notificationEvent(item));
+            }
+        }));
+    }
+
+    // Called once per committed fan-out chunk; only followers with an open stream cost a lookup.
+    public void publishNewPost(Long blogId, Collection<Long> recipientIds) {
+        List<Long> connected = recipientIds.stream()
+                .filter(emitters::containsKey)
+                .toList();
+        if (connected.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            List<Object[]> rows = notificationRepo.findItemsForBlogRecipients(blogId, NotificationType.POST, connected);
+            for (Object[] row : rows) {
+                Long recipientId = (Long) row[0];
+                NotificationItem item = (NotificationItem) row[1];
+                for (SseEmitter emitter : emittersOf(recipientId)) {
+                    send(recipientId, emitter, notificationEvent(item));
+                }
+            }
+        });
+    }
+
+    // Coalesced rows keep their id as they grow, so clients replace the item they already hold; the
+    // unread count follows because a merge into a row the client never saw must not raise the badge.
+    public void publishLatest(Long recipientId, Long blogId, NotificationType type) {
+        if (recipientId == null || !emitters.containsKey(recipientId)) {
+            return;
+        }
+        executor.execute(() -> {
+            List<NotificationItem> latest = notificationRepo.findLatestItems(recipientId, blogId, type,
+                    PageRequest.of(0, 1));
+            long unread = unreadCounter.get(recipientId);
+            for (SseEmitter emitter : emittersOf(recipientId)) {
+                for (NotificationItem item : latest) {
+                    send(recipientId, emitter, notificationEvent(item));
+                }
+                send(recipientId, emitter, unreadEvent(unread));
+            }
+        });
+    }
+
+    // Comment lines keep proxies and load balancers from closing idle streams and surface dead
+    // clients, whose emitters are dropped on the failed write.
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}",
+            initialDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                send(userId, emitter, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        emitters.values().forEach((userEmitters) -> userEmitters.forEach(SseEmitter::complete));
+    }
+
+    private void register(Long userId, SseEmitter emitter) {
+        List<SseEmitter> userEmitters = emitters.compute(userId, (key, existing) -> {
+            List<SseEmitter> list = existing == null ? new CopyOnWriteArrayList<>() : existing;
+            list.add(emitter);
+            return list;
+        });
+        connections.incrementAndGet();
+        // Tabs left open forever should not pin an unbounded number of sockets for one account.
+        while (userEmitters.size() > maxPerUser) {
+            SseEmitter oldest = userEmitters.get(0);
+            unregister(userId, oldest);
+            oldest.complete();
+        }
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (key, list) -> {
+            if (list.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private List<SseEmitter> emittersOf(Long userId) {
+        return emitters.getOrDefault(userId, List.of());
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            sentCounter.increment();
+        } catch (IOException | IllegalStateException ex) {
+            // The container completes the failed async request; we only stop writing to it.
+            unregister(userId, emitter);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder notificationEvent(NotificationItem item) {
+        return SseEmitter.event()
+                .id(item.createdAt() + EVENT_ID_SEPARATOR + item.id())
+                .name("notification")
+                .data(item);
+    }
+
+    private SseEmitter.SseEventBuilder unreadEvent(long count) {
+        return SseEmitter.event().name("unread").data(new UnreadCountResponse(count));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private Instant parseEventId(String lastEventId) {
+        int separator = lastEventId.lastIndexOf(EVENT_ID_SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            return Instant.parse(lastEventId.substring(0, separator).trim());
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
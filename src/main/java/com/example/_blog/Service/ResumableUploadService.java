@@ -0,0 +1,207 @@
+package com.example._blog.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+import com.example._blog.Dto.request.ResumableUploadRequest;
+import com.example._blog.Dto.response.MediaResponse;
+import com.example._blog.Dto.response.ResumableUploadResponse;
+import com.example._blog.Entity.UploadSession;
+import com.example._blog.Repositories.BlogRepo;
+import com.example._blog.Repositories.UploadSessionRepo;
+
+@Service
+public class ResumableUploadService {
+    private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+    private static final int CHUNK_BUFFER_BYTES = 64 * 1024;
+
+    private final UploadSessionRepo uploadSessionRepo;
+    private final BlogRepo blogRepo;
+    private final MediaService mediaService;
+    private final Path stagingDir;
+    private final long maxUploadBytes;
+    private final long maxChunkBytes;
+    private final Duration sessionTtl;
+    private final Map<String, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    public ResumableUploadService(UploadSessionRepo uploadSessionRepo, BlogRepo blogRepo, MediaService mediaService,
+                                  @Value("${media.resumable.staging-dir:${media.storage.local.root:uploads}/.resumable}") String stagingDir,
+                                  @Value("${media.resumable.max-upload-size:200MB}") DataSize maxUploadSize,
+                                  @Value("${media.resumable.max-chunk-size:8MB}") DataSize maxChunkSize,
+                                  @Value("${media.resumable.session-ttl:24h}") Duration sessionTtl) {
+        this.uploadSessionRepo = uploadSessionRepo;
+        this.blogRepo = blogRepo;
+        this.mediaService = mediaService;
+        this.stagingDir = Paths.get(stagingDir).toAbsolutePath().normalize();
+        this.maxUploadBytes = maxUploadSize.toBytes();
+        this.maxChunkBytes = maxChunkSize.toBytes();
+        this.sessionTtl = sessionTtl;
+    }
+
+    @Transactional
+    public ResumableUploadResponse start(Long userId, ResumableUploadRequest request) {
+        Long authorId = blogRepo.findAuthorIdById(request.blogId())
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Blog not found"));
+        if (!authorId.equals(userId)) {
+            throw new ResponseStatusException(FORBIDDEN, "You can only upload media to your own posts");
+        }
+        mediaService.validateFileType(request.filename(), request.contentType());
+        if (request.size() > maxUploadBytes) {
+            throw new ResponseStatusException(BAD_REQUEST, "Upload exceeds the maximum allowed size");
+        }
+        UploadSession session = UploadSession.builder()
+                .id(UUID.randomUUID().toString())
+                .blogId(request.blogId())
+                .userId(userId)
+                .filename(request.filename())
+                .declaredType(request.contentType())
+                .totalSize(request.size())
+                .build();
+        try {
+            Files.createDirectories(stagingDir);
+            Files.createFile(stagingPath(session.getId()));
+        } catch (IOException ex) {
+            throw new ResponseStatusException(BAD_REQUEST, "Failed to create upload");
+        }
+        return toResponse(uploadSessionRepo.save(session));
+    }
+
+    public ResumableUploadResponse status(Long userId, String uploadId) {
+        return toResponse(uploadSessionRepo.findByIdAndUserId(uploadId, userId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Upload not found")));
+    }
+
+    // Runs outside any transaction: the body of a slow chunk is streamed into the staging file without
+    // holding a pooled connection or a row lock. Chunks for one session are serialised in-process
+    // (the staging file lives on this node), and the offset is committed with a conditional UPDATE.
+    public ResumableUploadResponse append(Long userId, String uploadId, long offset, InputStream body) {
+        if (inFlight.putIfAbsent(uploadId, Boolean.TRUE) != null) {
+            throw new ResponseStatusException(CONFLICT, "Another chunk for this upload is in progress");
+        }
+        try {
+            UploadSession session = uploadSessionRepo.findByIdAndUserId(uploadId, userId)
+                    .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Upload not found"));
+            if (offset != session.getReceivedBytes()) {
+                throw new ResponseStatusException(CONFLICT, "Upload offset mismatch, expected " + session.getReceivedBytes());
+            }
+            long limit = Math.min(session.getTotalSize() - offset, maxChunkBytes);
+            byte[] buffer = new byte[CHUNK_BUFFER_BYTES];
+            long written = 0L;
+            try (FileChannel channel = FileChannel.open(stagingPath(uploadId), StandardOpenOption.WRITE)) {
+                // Drop bytes a previously interrupted chunk wrote past the committed offset.
+                channel.truncate(offset);
+                channel.position(offset);
+                int read = offset == 0 ? body.readNBytes(buffer, 0, buffer.length) : body.read(buffer);
+                if (offset == 0) {
+                    mediaService.sniff(session.getFilename(), session.getDeclaredType(), buffer, read);
+                }
+                while (read > 0) {
+                    if (written + read > limit) {
+                        throw new ResponseStatusException(BAD_REQUEST, "Chunk exceeds the declared upload size or chunk limit");
+                    }
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                    written += read;
+                    read = body.read(buffer);
+                }
+            } catch (IOException ex) {
+                // Keep what did reach the disk so the client resumes from there instead of resending the chunk.
+                if (written > 0) {
+                    commit(userId, uploadId, offset, offset + written);
+                }
+                throw new ResponseStatusException(BAD_REQUEST, "Upload chunk interrupted after " + written + " bytes");
+            }
+            commit(userId, uploadId, offset, offset + written);
+            session.setReceivedBytes(offset + written);
+            return toResponse(session);
+        } finally {
+            inFlight.remove(uploadId);
+        }
+    }
+
+    @Transactional
+    public MediaResponse complete(Long userId, String uploadId) {
+        UploadSession session = uploadSessionRepo.lockByIdAndUserId(uploadId, userId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Upload not found"));
+        if (!session.getReceivedBytes().equals(session.getTotalSize())) {
+            throw new ResponseStatusException(CONFLICT, "Upload is incomplete");
+        }
+        MediaResponse media = mediaService.attachStaged(session.getBlogId(), stagingPath(uploadId),
+                session.getFilename(), session.getDeclaredType());
+        uploadSessionRepo.delete(session);
+        return media;
+    }
+
+    @Transactional
+    public void abort(Long userId, String uploadId) {
+        UploadSession session = uploadSessionRepo.lockByIdAndUserId(uploadId, userId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Upload not found"));
+        uploadSessionRepo.delete(session);
+        deleteStaging(uploadId);
+    }
+
+    @Scheduled(fixedDelayString = "${media.resumable.sweep-interval-ms:3600000}")
+    public void expireStaleSessions() {
+        Instant cutoff = Instant.now().minus(sessionTtl);
+        List<UploadSession> stale = uploadSessionRepo.findTop100ByUpdatedAtBeforeOrderByUpdatedAtAsc(cutoff);
+        for (UploadSession session : stale) {
+            uploadSessionRepo.delete(session);
+            deleteStaging(session.getId());
+        }
+        if (!stale.isEmpty()) {
+            log.info("Expired {} abandoned upload sessions", stale.size());
+        }
+    }
+
+    private void commit(Long userId, String uploadId, long offset, long receivedBytes) {
+        if (uploadSessionRepo.advance(uploadId, userId, offset, receivedBytes, Instant.now()) == 0) {
+            // Aborted, expired or completed while the chunk was being written.
+            throw new ResponseStatusException(CONFLICT, "Upload offset mismatch");
+        }
+    }
+
+    private Path stagingPath(String uploadId) {
+        return stagingDir.resolve(uploadId + ".part");
+    }
+
+    private void deleteStaging(String uploadId) {
+        try {
+            Files.deleteIfExists(stagingPath(uploadId));
+        } catch (IOException ignored) {
+            // Best-effort cleanup.
+        }
+    }
+
+    private ResumableUploadResponse toResponse(UploadSession session) {
+        return new ResumableUploadResponse(session.getId(), session.getBlogId(), session.getReceivedBytes(),
+                session.getTotalSize(), maxChunkBytes);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example._blog.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example._blog.Dto.response.BlogResponse;
+import com.example._blog.Entity.Blog;
+import com.example._blog.Entity.enums.BlogStatus;
+import com.example._blog.Repositories.BlogRepo;
+import com.example._blog.Repositories.FollowRepo;
+import com.example._blog.Repositories.TimelineEntryRepo;
+import com.example._blog.Repositories.UserRepo;
+
+@Service
+public class TimelineService {
+    private static final int BACKFILL_LIMIT = 50;
+    private static final String INSERT_ENTRY_SQL =
+            "insert into timeline_entries (user_id, blog_id, created_at) values (?, ?, ?) on conflict do nothing";
+    private static final String FLAG_CELEBRITIES_SQL =
+            "update users set timeline_pull = true where timeline_pull = false and user_id in "
+                    + "(select following_id from follows group by following_id having count(*) > ?)";
+
+    private final TimelineEntryRepo timelineEntryRepo;
+    private final BlogRepo blogRepo;
+    private final FollowRepo followRepo;
+    private final UserRepo userRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long celebrityThreshold;
+    private final int batchSize;
+
+    public TimelineService(TimelineEntryRepo timelineEntryRepo, BlogRepo blogRepo, FollowRepo followRepo,
+                           UserRepo userRepo, JdbcTemplate jdbcTemplate,
+                           @Value("${feed.timeline.enabled:false}") boolean enabled,
+                           @Value("${feed.timeline.celebrity-threshold:1000}") long celebrityThreshold,
+                           @Value("${feed.timeline.batch-size:500}") int batchSize) {
+        this.timelineEntryRepo = timelineEntryRepo;
+        this.blogRepo = blogRepo;
+        this.followRepo = followRepo;
+        this.userRepo = userRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.celebrityThreshold = celebrityThreshold;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // A post that skips fan-out flags its author for pulling in the same transaction, so every post
+    // missing from followers' timelines belongs to an author the feed still pulls from, even after
+    // their follower count drops back under the threshold. Only this write path counts followers;
+    // reads go by the flag alone.
+    @Transactional
+    public void fanOut(Blog blog) {
+        if (!enabled || blog == null || blog.getIdBlog() == null
+                || blog.getUser() == null || blog.getUser().getUserId() == null) {
+            return;
+        }
+        Long authorUserId = blog.getUser().getUserId();
+        List<Long> recipientIds = new ArrayList<>();
+        recipientIds.add(authorUserId);
+        if (pullsFrom(authorUserId) || followRepo.countByFollowingUserId(authorUserId) > celebrityThreshold) {
+            userRepo.markTimelinePull(authorUserId);
+        } else {
+            for (Long followerId : followRepo.findFollowerIdsByFollowingId(authorUserId)) {
+                if (followerId != null && !followerId.equals(authorUserId)) {
+                    recipientIds.add(followerId);
+                }
+            }
+        }
+        insertEntries(recipientIds, blog.getIdBlog(), blog.getCreatedAt());
+    }
+
+    @Transactional
+    public void backfill(Long followerId, Long authorId) {
+        if (!enabled || pullsFrom(authorId)) {
+            return;
+        }
+        List<Blog> recent = blogRepo.findFeedBlogs(List.of(authorId), BlogStatus.ACTIVE,
+                PageRequest.of(0, BACKFILL_LIMIT));
+        List<Object[]> rows = new ArrayList<>();
+        for (Blog blog : recent) {
+            rows.add(row(followerId, blog.getIdBlog(), blog.getCreatedAt()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, rows);
+    }
+
+    @Transactional
+    public void removeAuthor(Long followerId, Long authorId) {
+        if (!enabled) {
+            return;
+        }
+        timelineEntryRepo.deleteByUserIdAndAuthorId(followerId, authorId);
+    }
+
+    @Transactional
+    public void removeBlog(Long blogId) {
+        timelineEntryRepo.deleteByBlogId(blogId);
+    }
+
+    @Transactional
+    public void removeUser(Long userId) {
+        timelineEntryRepo.deleteByAuthorId(userId);
+        timelineEntryRepo.deleteByUserId(userId);
+    }
+
+    public List<BlogResponse> getFeed(Long currentUserId, List<Long> followingIds, Long beforeId, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        List<BlogResponse> pushed = beforeId == null
+                ? timelineEntryRepo.findTimelineResponses(currentUserId, BlogStatus.ACTIVE, pageable)
+                : timelineEntryRepo.findTimelineResponsesBefore(currentUserId, BlogStatus.ACTIVE, beforeId, pageable);
+
+        List<Long> pullIds = findPullAuthors(followingIds);
+        if (pullIds.isEmpty()) {
+            return pushed;
+        }
+        List<BlogResponse> pulled = beforeId == null
+                ? blogRepo.findFeedResponses(pullIds, BlogStatus.ACTIVE, pageable)
+                : blogRepo.findFeedResponsesBefore(pullIds, BlogStatus.ACTIVE, beforeId, pageable);
+
+        // Both sources are already ordered by idBlog desc; an author may appear in both
+        // if they crossed the threshold after earlier posts were fanned out.
+        Map<Long, BlogResponse> merged = new LinkedHashMap<>();
+        for (BlogResponse blog : pushed) {
+            merged.put(blog.idBlog(), blog);
+        }
+        for (BlogResponse blog : pulled) {
+            merged.putIfAbsent(blog.idBlog(), blog);
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparing(BlogResponse::idBlog).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    // Posts written before the flag existed skipped fan-out without setting it; flag every author
+    // over the configured threshold once, so they keep being pulled if they later drop under it.
+    @EventListener(ApplicationReadyEvent.class)
+    public void flagCelebrities() {
+        if (enabled) {
+            jdbcTemplate.update(FLAG_CELEBRITIES_SQL, celebrityThreshold);
+        }
+    }
+
+    // Authors flagged because an earlier post of theirs skipped fan-out.
+    private List<Long> findPullAuthors(List<Long> authorIds) {
+        if (authorIds == null || authorIds.isEmpty()) {
+            return List.of();
+        }
+        return userRepo.findTimelinePullIds(authorIds);
+    }
+
+    private boolean pullsFrom(Long authorId) {
+        return !findPullAuthors(List.of(authorId)).isEmpty();
+    }
+
+    private void insertEntries(List<Long> recipientIds, Long blogId, Instant createdAt) {
+        for (int start = 0; start < recipientIds.size(); start += batchSize) {
+            List<Long> chunk = recipientIds.subList(start, Math.min(start + batchSize, recipientIds.size()));
+            List<Object[]> rows = new ArrayList<>(chunk.size());
+            for (Long recipientId : chunk) {
+                rows.add(row(recipientId, blogId, createdAt));
+            }
+            jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, rows);
+        }
+    }
+
+    private Object[] row(Long userId, Long blogId, Instant createdAt) {
+        return new Object[] {userId, blogId, Timestamp.from(createdAt == null ? Instant.now() : createdAt)};
+    }
+}
@@ -0,0 +1,66 @@
+package com.example._blog.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example._blog.Repositories.UserRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Badge counts live in users.unread_notifications, adjusted in the same transaction as every
+// notification write; the in-memory map answers polls and is dropped for a user whenever their
+// count changes, so a poll costs at most one primary-key read and never scans notifications.
+@Component
+public class UnreadNotificationCounter {
+    private final UserRepo userRepo;
+    private final Cache<Long, Long> counts;
+
+    public UnreadNotificationCounter(UserRepo userRepo, MeterRegistry meterRegistry,
+                                     @Value("${notifications.unread-cache.max-size:100000}") long maxSize,
+                                     @Value("${notifications.unread-cache.ttl:5m}") Duration ttl) {
+        this.userRepo = userRepo;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "notifications.unread");
+    }
+
+    public long get(Long userId) {
+        return counts.get(userId, (id) -> userRepo.findUnreadNotificationsById(id).orElse(0L));
+    }
+
+    public void adjust(Long userId, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        userRepo.adjustUnreadNotifications(userId, delta);
+        evict(userId);
+    }
+
+    public void evict(Long userId) {
+        counts.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A poll that read the old column before our commit may have re-populated the entry.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counts.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public void evictAll(Collection<Long> userIds) {
+        counts.invalidateAll(userIds);
+    }
+}
@@ -23,10 +23,10 @@ import com.example._blog.Repositories.BlogRepo;
 import com.example._blog.Repositories.CommentRepo;
 import com.example._blog.Repositories.FollowRepo;
 import com.example._blog.Repositories.LikeRepo;
-import com.example._blog.Repositories.NotificationRepo;
 import com.example._blog.Repositories.ReportRepo;
 import com.example._blog.Repositories.UserRepo;
 import com.example._blog.Security.JwtService;
+import com.example._blog.Security.PrincipalCache;
 
 @Service
 public class UserService {
@@ -37,13 +37,18 @@ public class UserService {
     private final CommentRepo commentRepo;
     private final LikeRepo likeRepo;
     private final FollowRepo followRepo;
-    private final NotificationRepo notificationRepo;
+    private final NotificationService notificationService;
     private final ReportRepo reportRepo;
     private final MediaService mediaService;
+    private final TimelineService timelineService;
+    private final PrincipalCache principalCache;
+    private final BlogResponseCache blogResponseCache;
 
     public UserService(UserRepo repo, PasswordEncoder encoder, JwtService jwtService, BlogRepo blogRepo,
                        CommentRepo commentRepo, LikeRepo likeRepo, FollowRepo followRepo,
-                       NotificationRepo notificationRepo, ReportRepo reportRepo, MediaService mediaService) {
+                       NotificationService notificationService, ReportRepo reportRepo, MediaService mediaService,
+                       TimelineService timelineService, PrincipalCache principalCache,
+                       BlogResponseCache blogResponseCache) {
         this.repo = repo;
         this.encoder = encoder;
         this.jwtService = jwtService;
@@ -51,9 +56,12 @@ public class UserService {
         this.commentRepo = commentRepo;
         this.likeRepo = likeRepo;
         this.followRepo = followRepo;
-        this.notificationRepo = notificationRepo;
+        this.notificationService = notificationService;
         this.reportRepo = reportRepo;
         this.mediaService = mediaService;
+        this.timelineService = timelineService;
+        this.principalCache = principalCache;
+        this.blogResponseCache = blogResponseCache;
     }
 
     // REGISTER
@@ -123,29 +131,34 @@ public class UserService {
 
         for (Long blogId : userBlogIds) {
             reportRepo.deleteByBlogIdBlog(blogId);
-            notificationRepo.deleteByBlogIdBlog(blogId);
+            notificationService.deleteByBlog(blogId);
             likeRepo.deleteByBlogIdBlog(blogId);
             commentRepo.deleteByBlogIdBlog(blogId);
             mediaService.deleteByBlog(blogId);
         }
 
+        timelineService.removeUser(userId);
         likeRepo.deleteByUserUserId(userId);
         commentRepo.deleteByUserUserId(userId);
         followRepo.deleteByFollowerUserIdOrFollowingUserId(userId, userId);
-        notificationRepo.deleteByRecipientUserIdOrActorUserId(userId, userId);
+        notificationService.deleteByUser(userId);
         reportRepo.deleteByReporterUserIdOrReportedUserUserId(userId, userId);
 
         if (!userBlogIds.isEmpty()) {
             blogRepo.deleteAllById(userBlogIds);
+            blogResponseCache.evictAll(userBlogIds);
         }
         repo.delete(existing);
+        principalCache.evict(existing.getUserName());
     }
 
     public UserResponse updateStatus(Long userId, UserStatus status) {
         User existing = repo.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "User not found"));
         existing.setStatus(status);
-        return toResponse(repo.save(existing));
+        User saved = repo.save(existing);
+        principalCache.evict(saved.getUserName());
+        return toResponse(saved);
     }
 
     public UserResponse updateRole(Long userId, UserRole role) {
@@ -156,7 +169,9 @@ public class UserService {
             throw new ResponseStatusException(FORBIDDEN, "Super admin role cannot be changed");
         }
         existing.setRole(role);
-        return toResponse(repo.save(existing));
+        User saved = repo.save(existing);
+        principalCache.evict(saved.getUserName());
+        return toResponse(saved);
     }
 
     private UserResponse toResponse(User user) {
@@ -0,0 +1,181 @@
+package com.example._blog.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalMediaStorage implements MediaStorage {
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]+\\.[A-Za-z0-9]+");
+
+    private final Path root;
+    private final Path stagingDir;
+    private final String publicBaseUrl;
+
+    public LocalMediaStorage(@Value("${media.storage.local.root:uploads}") String root,
+                             @Value("${media.storage.public-base-url:http://localhost:8080/uploads/}") String publicBaseUrl) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.stagingDir = this.root.resolve(".staging");
+        this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl : publicBaseUrl + "/";
+    }
+
+    @Override
+    public Path newStagingPath() throws IOException {
+        Files.createDirectories(stagingDir);
+        return stagingDir.resolve(UUID.randomUUID() + ".tmp");
+    }
+
+    @Override
+    public boolean store(String key, Path staged, String contentType) throws IOException {
+        Path target = shardedPath(key);
+        try {
+            if (Files.exists(target)) {
+                return false;
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException ex) {
+            return false;
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        Path path = existingPath(key);
+        if (path == null) {
+            throw new NoSuchFileException(key);
+        }
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(shardedPath(key));
+        Files.deleteIfExists(flatPath(key));
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return publicBaseUrl + key;
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.ofNullable(existingPath(key));
+    }
+
+    @Override
+    public void scan(int batchSize, Consumer<List<StoredObject>> visitor) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<StoredObject> batch = new ArrayList<>(batchSize);
+        scanDirectory(root, 0, batchSize, batch, visitor);
+        if (!batch.isEmpty()) {
+            visitor.accept(List.copyOf(batch));
+        }
+    }
+
+    @Override
+    public void purgeStaging(Instant olderThan) throws IOException {
+        if (!Files.isDirectory(stagingDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> staged = Files.newDirectoryStream(stagingDir)) {
+            for (Path file : staged) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(olderThan)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    // Flat legacy files sit at depth 0 and sharded objects at depth 2. Directory streams are read
+    // lazily, so memory stays bounded by the batch size rather than by the number of files.
+    private void scanDirectory(Path dir, int depth, int batchSize, List<StoredObject> batch,
+                               Consumer<List<StoredObject>> visitor) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                // Staging and resumable-upload directories start with a dot and never hold stored objects.
+                if (name.startsWith(".")) {
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class,
+                        LinkOption.NOFOLLOW_LINKS);
+                if (attributes.isDirectory()) {
+                    if (depth < 2) {
+                        scanDirectory(entry, depth + 1, batchSize, batch, visitor);
+                    }
+                    continue;
+                }
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                batch.add(new StoredObject(name, attributes.size(), attributes.lastModifiedTime().toInstant()));
+                if (batch.size() >= batchSize) {
+                    visitor.accept(List.copyOf(batch));
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    // Two levels of two-character prefixes keep any one directory to a few thousand entries
+    // even with millions of stored objects.
+    private Path shardedPath(String key) {
+        validate(key);
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    // Uploads written before sharding live directly under the root.
+    private Path flatPath(String key) {
+        validate(key);
+        return root.resolve(key);
+    }
+
+    private Path existingPath(String key) {
+        if (!isValid(key)) {
+            return null;
+        }
+        Path sharded = shardedPath(key);
+        if (Files.isRegularFile(sharded)) {
+            return sharded;
+        }
+        Path flat = flatPath(key);
+        return Files.isRegularFile(flat) ? flat : null;
+    }
+
+    private void validate(String key) {
+        if (!isValid(key)) {
+            throw new IllegalArgumentException("Invalid media key");
+        }
+    }
+
+    private boolean isValid(String key) {
+        return key != null && key.length() >= 6 && KEY_PATTERN.matcher(key).matches();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example._blog.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface MediaStorage {
+    // A local path, not yet created, where an upload can be written before it is stored.
+    Path newStagingPath() throws IOException;
+
+    // Consumes the staged file. Returns false when the key already held content.
+    boolean store(String key, Path staged, String contentType) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    String publicUrl(String key);
+
+    // Lists stored objects in bounded batches without materialising the whole listing.
+    void scan(int batchSize, Consumer<List<StoredObject>> visitor) throws IOException;
+
+    // Removes staging files abandoned by crashed requests.
+    void purgeStaging(Instant olderThan) throws IOException;
+
+    // Only backends that keep bytes on this node can hand out a path for direct serving.
+    Optional<Path> localFile(String key);
+}
@@ -0,0 +1,174 @@
+package com.example._blog.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+@Component
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "s3")
+public class S3MediaStorage implements MediaStorage {
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final S3Client client;
+    private final String bucket;
+    private final String publicBaseUrl;
+    private final Path stagingDir;
+
+    public S3MediaStorage(@Value("${media.storage.s3.endpoint:}") String endpoint,
+                          @Value("${media.storage.s3.region:us-east-1}") String region,
+                          @Value("${media.storage.s3.bucket}") String bucket,
+                          @Value("${media.storage.s3.access-key:}") String accessKey,
+                          @Value("${media.storage.s3.secret-key:}") String secretKey,
+                          @Value("${media.storage.s3.path-style:true}") boolean pathStyle,
+                          @Value("${media.storage.public-base-url}") String publicBaseUrl) {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .forcePathStyle(pathStyle);
+        // MinIO and other S3-compatible stores are reached through an explicit endpoint.
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        if (!accessKey.isBlank()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+        }
+        this.client = builder.build();
+        this.bucket = bucket;
+        this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl : publicBaseUrl + "/";
+        this.stagingDir = Paths.get(System.getProperty("java.io.tmpdir"), "blog-media-staging");
+    }
+
+    @Override
+    public Path newStagingPath() throws IOException {
+        Files.createDirectories(stagingDir);
+        return stagingDir.resolve(UUID.randomUUID() + ".tmp");
+    }
+
+    @Override
+    public boolean store(String key, Path staged, String contentType) throws IOException {
+        try {
+            if (exists(key)) {
+                return false;
+            }
+            client.putObject(PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .contentType(contentType)
+                            .cacheControl(CACHE_CONTROL)
+                            .build(),
+                    RequestBody.fromFile(staged));
+            return true;
+        } catch (S3Exception ex) {
+            throw new IOException("Failed to store " + key, ex);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                throw new NoSuchFileException(key);
+            }
+            throw new IOException("Failed to read " + key, ex);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (S3Exception ex) {
+            throw new IOException("Failed to delete " + key, ex);
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return publicBaseUrl + key;
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void scan(int batchSize, Consumer<List<StoredObject>> visitor) throws IOException {
+        try {
+            ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucket).maxKeys(batchSize).build();
+            for (ListObjectsV2Response page : client.listObjectsV2Paginator(request)) {
+                if (page.contents().isEmpty()) {
+                    continue;
+                }
+                visitor.accept(page.contents().stream()
+                        .map((object) -> new StoredObject(object.key(), object.size(), object.lastModified()))
+                        .toList());
+            }
+        } catch (S3Exception ex) {
+            throw new IOException("Failed to list " + bucket, ex);
+        }
+    }
+
+    @Override
+    public void purgeStaging(Instant olderThan) throws IOException {
+        if (!Files.isDirectory(stagingDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> staged = Files.newDirectoryStream(stagingDir)) {
+            for (Path file : staged) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(olderThan)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
+    }
+
+    private boolean exists(String key) {
+        try {
+            client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example._blog.Storage;
+
+import java.time.Instant;
+
+public record StoredObject(String key, long size, Instant lastModified) {
+}
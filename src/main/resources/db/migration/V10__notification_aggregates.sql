@@ -0,0 +1,8 @@
+-- LIKE and COMMENT notifications for one (recipient, blog, type) are coalesced
+-- into a single row: actor_count is how many people it stands for and
+-- recent_actor_ids the latest of them, newest first, comma separated.
+alter table notifications add column if not exists actor_count integer not null default 1;
+alter table notifications add column if not exists recent_actor_ids varchar(100);
+
+update notifications set recent_actor_ids = cast(actor_user_id as varchar(20))
+where recent_actor_ids is null;
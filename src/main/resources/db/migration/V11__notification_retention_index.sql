@@ -0,0 +1,4 @@
+-- The retention job deletes old read notifications type by type in small
+-- chunks; a partial index keeps each chunk from scanning unread or recent rows.
+create index if not exists idx_notifications_read_type_created
+    on notifications (type, created_at) where is_read = true;
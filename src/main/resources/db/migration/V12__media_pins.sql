@@ -0,0 +1,7 @@
+-- Durable pins for content hashes with an upload in flight on any node:
+-- an object is never unlinked while its hash has an unexpired pin, and the
+-- row is locked while unlinking so a concurrent pin waits for the outcome.
+create table if not exists media_pins (
+    content_hash varchar(64) primary key,
+    pinned_until timestamp(6) with time zone not null
+);
@@ -0,0 +1,5 @@
+-- Authors whose posts were not fanned out into followers' timelines because
+-- they were over the celebrity threshold. Feeds keep pulling their posts even
+-- after they drop back under it, since those posts were never pushed. Existing
+-- authors are flagged at startup against the configured threshold.
+alter table users add column if not exists timeline_pull boolean not null default false;
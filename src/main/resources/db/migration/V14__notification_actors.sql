@@ -0,0 +1,15 @@
+-- Every distinct actor a coalesced LIKE/COMMENT row stands for, so a repeat
+-- actor who has dropped out of recent_actor_ids is not counted twice.
+create table if not exists notification_actors (
+    notification_id bigint not null references notifications (id) on delete cascade,
+    actor_user_id bigint not null,
+    primary key (notification_id, actor_user_id)
+);
+
+-- Only unread rows can still be merged into; seed them with the actors they list.
+insert into notification_actors (notification_id, actor_user_id)
+select n.id, cast(a.actor_id as bigint)
+from notifications n
+cross join unnest(string_to_array(n.recent_actor_ids, ',')) as a(actor_id)
+where n.is_read = false and n.type in ('LIKE', 'COMMENT') and n.recent_actor_ids <> ''
+on conflict do nothing;
@@ -0,0 +1,19 @@
+-- Read notifications past their retention are moved here by the retention
+-- job instead of being dropped. No foreign keys: archived rows outlive the
+-- users and posts they mention.
+create table if not exists notifications_archive (
+    id bigint primary key,
+    recipient_user_id bigint not null,
+    actor_user_id bigint not null,
+    blog_id bigint,
+    type varchar(255) not null,
+    message varchar(300) not null,
+    is_read boolean not null,
+    created_at timestamp(6) with time zone not null,
+    actor_count integer not null,
+    recent_actor_ids varchar(100),
+    archived_at timestamp(6) with time zone not null
+);
+
+create index if not exists idx_notifications_archive_recipient_created
+    on notifications_archive (recipient_user_id, created_at desc);
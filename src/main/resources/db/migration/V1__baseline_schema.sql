@@ -0,0 +1,86 @@
+create table if not exists users (
+    user_id bigint generated by default as identity primary key,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    user_name varchar(255) not null unique,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    status varchar(255) not null,
+    role varchar(255) not null,
+    created_at timestamp(6) with time zone
+);
+
+create table if not exists blogs (
+    id_blog bigint generated by default as identity primary key,
+    title varchar(255) not null,
+    content varchar(1000) not null,
+    status varchar(255),
+    user_id bigint not null references users (user_id),
+    media varchar(255),
+    comment_count bigint,
+    like_count bigint,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone
+);
+
+create table if not exists comments (
+    id bigint generated by default as identity primary key,
+    content varchar(10000) not null,
+    blog_id bigint not null references blogs (id_blog),
+    user_id bigint not null references users (user_id),
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone
+);
+
+create table if not exists follows (
+    id bigint generated by default as identity primary key,
+    follower_id bigint not null references users (user_id),
+    following_id bigint not null references users (user_id),
+    created_at timestamp(6) with time zone
+);
+
+create table if not exists likes (
+    id bigint generated by default as identity primary key,
+    blog_id bigint references blogs (id_blog),
+    user_id bigint references users (user_id),
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone
+);
+
+create table if not exists media (
+    id bigint generated by default as identity primary key,
+    blog_id bigint not null references blogs (id_blog),
+    url varchar(255),
+    media_type varchar(255),
+    created_at timestamp(6) with time zone
+);
+
+create table if not exists notifications (
+    id bigint generated by default as identity primary key,
+    recipient_user_id bigint not null references users (user_id),
+    actor_user_id bigint not null references users (user_id),
+    blog_id bigint references blogs (id_blog),
+    type varchar(255) not null,
+    message varchar(300) not null,
+    is_read boolean not null,
+    created_at timestamp(6) with time zone not null
+);
+
+create table if not exists reports (
+    id bigint generated by default as identity primary key,
+    blog_id bigint references blogs (id_blog),
+    reporter_user_id bigint not null references users (user_id),
+    reported_user_id bigint references users (user_id),
+    reason varchar(255) not null,
+    details varchar(500),
+    created_at timestamp(6) with time zone
+);
+
+create table if not exists timeline_entries (
+    id bigint generated by default as identity primary key,
+    user_id bigint not null,
+    blog_id bigint not null,
+    created_at timestamp(6) with time zone not null,
+    constraint uk_timeline_user_blog unique (user_id, blog_id)
+);
+create index if not exists idx_timeline_blog on timeline_entries (blog_id);
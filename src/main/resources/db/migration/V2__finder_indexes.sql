@@ -0,0 +1,39 @@
+-- Drop duplicate rows left behind by the old exists-then-insert checks before
+-- the unique indexes go on, then resync the like counters.
+delete from follows f
+using follows d
+where f.follower_id = d.follower_id
+  and f.following_id = d.following_id
+  and f.id > d.id;
+
+delete from likes l
+using likes d
+where l.blog_id = d.blog_id
+  and l.user_id = d.user_id
+  and l.id > d.id;
+
+update blogs b
+set like_count = (select count(*) from likes l where l.blog_id = b.id_blog);
+
+create index if not exists idx_blogs_user_status_id on blogs (user_id, status, id_blog desc);
+create index if not exists idx_blogs_status_created on blogs (status, created_at desc);
+
+create unique index if not exists uk_follows_follower_following on follows (follower_id, following_id);
+create index if not exists idx_follows_following_follower on follows (following_id, follower_id);
+
+create unique index if not exists uk_likes_blog_user on likes (blog_id, user_id);
+create index if not exists idx_likes_user on likes (user_id);
+
+create index if not exists idx_comments_blog on comments (blog_id);
+create index if not exists idx_comments_user on comments (user_id);
+
+create index if not exists idx_media_blog on media (blog_id, id);
+
+create index if not exists idx_notifications_recipient_read_created
+    on notifications (recipient_user_id, is_read, created_at desc);
+create index if not exists idx_notifications_recipient_created
+    on notifications (recipient_user_id, created_at desc);
+create index if not exists idx_notifications_blog on notifications (blog_id);
+create index if not exists idx_notifications_actor on notifications (actor_user_id);
+
+create index if not exists idx_reports_blog on reports (blog_id);
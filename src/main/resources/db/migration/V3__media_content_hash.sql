@@ -0,0 +1,2 @@
+-- SHA-256 of the stored bytes, computed while the upload is streamed to disk.
+alter table media add column if not exists content_hash varchar(64);
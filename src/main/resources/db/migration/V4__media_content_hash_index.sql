@@ -0,0 +1,3 @@
+-- Reference lookups for content-addressed uploads: a stored file is unlinked
+-- only once no media row points at its hash.
+create index if not exists idx_media_content_hash on media (content_hash);
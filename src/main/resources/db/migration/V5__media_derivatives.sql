@@ -0,0 +1,6 @@
+-- Intrinsic size, generated width buckets and an inline blur placeholder,
+-- filled in by the background derivative pipeline.
+alter table media add column if not exists width integer;
+alter table media add column if not exists height integer;
+alter table media add column if not exists variant_widths varchar(64);
+alter table media add column if not exists placeholder varchar(4096);
@@ -0,0 +1,15 @@
+-- Resumable upload sessions: bytes land in a staging file keyed by id, and
+-- received_bytes is the offset the next chunk must start at.
+create table if not exists upload_sessions (
+    id varchar(36) primary key,
+    blog_id bigint not null,
+    user_id bigint not null,
+    filename varchar(255) not null,
+    declared_type varchar(255),
+    total_size bigint not null,
+    received_bytes bigint not null,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone
+);
+
+create index if not exists idx_upload_sessions_updated on upload_sessions (updated_at);
@@ -0,0 +1,4 @@
+-- Media ids move to a pooled sequence (allocation size 50) so a post's rows
+-- can be inserted in one JDBC batch. Start past every existing id.
+create sequence if not exists media_seq increment by 50;
+select setval('media_seq', (select coalesce(max(id), 0) + 50 from media));
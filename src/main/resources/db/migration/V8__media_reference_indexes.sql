@@ -0,0 +1,4 @@
+-- The orphan sweep checks each batch of stored objects against the URLs still
+-- referenced by media rows and by blogs' cover media.
+create index if not exists idx_media_url on media (url);
+create index if not exists idx_blogs_media on blogs (media);
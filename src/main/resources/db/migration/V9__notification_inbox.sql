@@ -0,0 +1,14 @@
+-- Unread badge counts are kept on the user row and adjusted with every
+-- notification write, so badge polls never count the notifications table.
+alter table users add column if not exists unread_notifications bigint not null default 0;
+
+update users u
+set unread_notifications = (
+    select count(*) from notifications n
+    where n.recipient_user_id = u.user_id and n.is_read = false
+);
+
+-- Inbox pages are read by keyset over (created_at, id).
+drop index if exists idx_notifications_recipient_created;
+create index if not exists idx_notifications_recipient_created_id
+    on notifications (recipient_user_id, created_at desc, id desc);
@@ -0,0 +1,96 @@
+package com.example._blog.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example._blog.Dto.response.CommentResponse;
+import com.example._blog.Entity.Comment;
+
+// like_count and comment_count are maintained by single-statement increments; hammering one post
+// from many threads must leave them equal to the rows that actually exist.
+@SpringBootTest
+@ActiveProfiles("test")
+class BlogCounterConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 25;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentLikesAndCommentsKeepCountersExact() throws Exception {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i <= THREADS; i++) {
+            jdbcTemplate.update("insert into users (first_name, last_name, user_name, email, password, status, role, created_at) "
+                    + "values (?, ?, ?, ?, 'x', 'ACTIVE', 'USER', ?)",
+                    "First" + i, "Last" + i, "counter" + i, "counter" + i + "@test.local", now);
+            userIds.add(jdbcTemplate.queryForObject("select user_id from users where user_name = ?", Long.class,
+                    "counter" + i));
+        }
+        jdbcTemplate.update("insert into blogs (title, content, status, user_id, comment_count, like_count, created_at) "
+                + "values ('Hot post', 'content', 'ACTIVE', ?, 0, 0, ?)", userIds.get(0), now);
+        Long blogId = jdbcTemplate.queryForObject("select max(id_blog) from blogs where user_id = ?", Long.class,
+                userIds.get(0));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 1; t <= THREADS; t++) {
+            Long userId = userIds.get(t);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int round = 0; round < ROUNDS; round++) {
+                    likeService.like(blogId, userId);
+                    CommentResponse comment = commentService.add(blogId, userId,
+                            Comment.builder().content("comment " + round).build());
+                    // Odd rounds undo both, so the final counts depend on every decrement landing too.
+                    if (round % 2 == 1) {
+                        likeService.unlike(blogId, userId);
+                        commentService.delete(comment.id());
+                    } else if (round < ROUNDS - 1) {
+                        likeService.unlike(blogId, userId);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        long likes = jdbcTemplate.queryForObject("select count(*) from likes where blog_id = ?", Long.class, blogId);
+        long comments = jdbcTemplate.queryForObject("select count(*) from comments where blog_id = ?", Long.class, blogId);
+        long likeCount = jdbcTemplate.queryForObject("select like_count from blogs where id_blog = ?", Long.class, blogId);
+        long commentCount = jdbcTemplate.queryForObject("select comment_count from blogs where id_blog = ?", Long.class,
+                blogId);
+
+        assertTrue(likes > 0 && comments > 0);
+        assertEquals(likes, likeCount);
+        assertEquals(comments, commentCount);
+    }
+}
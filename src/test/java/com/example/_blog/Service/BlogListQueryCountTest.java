@@ -0,0 +1,97 @@
+package com.example._blog.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example._blog.Entity.enums.BlogStatus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Every list path loads a page of posts, their authors and all their media in a fixed number of
+// statements; growing the page must not add per-post queries.
+@SpringBootTest
+@ActiveProfiles("test")
+class BlogListQueryCountTest {
+    private static final int MAX_STATEMENTS_PER_CALL = 3;
+    private static final AtomicLong MEDIA_IDS = new AtomicLong(1_000_000L);
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listPathsIssueABoundedNumberOfStatements() {
+        Timestamp now = Timestamp.from(Instant.now());
+        Long authorId = insertUser("listauthor", now);
+        Long followerId = insertUser("listfollower", now);
+        jdbcTemplate.update("insert into follows (follower_id, following_id, created_at) values (?, ?, ?)",
+                followerId, authorId, now);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        insertPosts(authorId, 5, now);
+        Map<String, Long> small = measure(statistics, authorId, followerId);
+        insertPosts(authorId, 15, now);
+        Map<String, Long> page = measure(statistics, authorId, followerId);
+
+        for (Map.Entry<String, Long> entry : page.entrySet()) {
+            assertEquals(small.get(entry.getKey()), entry.getValue(), entry.getKey() + " grew with the page size");
+            assertTrue(entry.getValue() <= MAX_STATEMENTS_PER_CALL,
+                    entry.getKey() + " issued " + entry.getValue() + " statements");
+        }
+    }
+
+    private Map<String, Long> measure(Statistics statistics, Long authorId, Long followerId) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("feed", count(statistics, () -> blogService.getFeedResponses(followerId, null, 20)));
+        counts.put("getByUser", count(statistics, () -> blogService.getByUser(authorId)));
+        counts.put("getByStatus", count(statistics, () -> blogService.getByStatus(BlogStatus.ACTIVE)));
+        counts.put("getAllResponses", count(statistics, () -> blogService.getAllResponses()));
+        return counts;
+    }
+
+    private long count(Statistics statistics, Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long insertUser(String userName, Timestamp now) {
+        jdbcTemplate.update("insert into users (first_name, last_name, user_name, email, password, status, role, created_at) "
+                + "values ('First', 'Last', ?, ?, 'x', 'ACTIVE', 'USER', ?)", userName, userName + "@test.local", now);
+        return jdbcTemplate.queryForObject("select user_id from users where user_name = ?", Long.class, userName);
+    }
+
+    private void insertPosts(Long authorId, int posts, Timestamp now) {
+        for (int i = 0; i < posts; i++) {
+            jdbcTemplate.update("insert into blogs (title, content, status, user_id, comment_count, like_count, created_at) "
+                    + "values (?, 'content', 'ACTIVE', ?, 0, 0, ?)", "Post " + i, authorId, now);
+            Long blogId = jdbcTemplate.queryForObject("select max(id_blog) from blogs where user_id = ?", Long.class,
+                    authorId);
+            for (int m = 0; m < 2; m++) {
+                long mediaId = MEDIA_IDS.incrementAndGet();
+                jdbcTemplate.update("insert into media (id, blog_id, url, media_type, created_at) values (?, ?, ?, ?, ?)",
+                        mediaId, blogId, "http://localhost:8080/uploads/" + mediaId + ".jpg", "image/jpeg", now);
+            }
+        }
+    }
+}